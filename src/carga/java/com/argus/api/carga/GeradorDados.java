@@ -0,0 +1,238 @@
+package com.argus.api.carga;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.domain.model.Ocorrencias;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.domain.model.ResultadoVotacao;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.domain.model.Voto;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.ReservaSlotRepository;
+import com.argus.api.service.AgendaReservas;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Popula o banco com N condomínios, M moradores por condomínio e K reservas, votos, ocorrências e comunicados
+ * por condomínio. Tudo passa pelo JPA, para que os ids saiam das mesmas sequências usadas pela aplicação, e a
+ * mesma semente gera sempre a mesma massa de dados. As reservas ocupam seus slots, as sessões com votos já
+ * saem encerradas com o resultado gravado e cada comunicado chega à caixa de entrada de todos os moradores.
+ */
+class GeradorDados {
+
+    record Area(Long id, String nome) {
+    }
+
+    record Morador(Long id, String cpf, Long condominioId, List<Area> areas, List<Long> sessoesAbertas) {
+    }
+
+    static final String SENHA = "senha-carga";
+
+    // Reservas semeadas ficam no passado, uma por hora entre 8h e 20h
+    private static final int HORARIOS_POR_DIA = 12;
+
+    private static final int LOTE_FLUSH = 500;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservaSlotRepository reservaSlotRepository;
+    private final CaixaNotificacaoRepository caixaNotificacaoRepository;
+    private final String senhaCodificada;
+    private final Random random;
+    private int pendentes;
+
+    GeradorDados(EntityManager entityManager, TransactionTemplate transactionTemplate,
+                 ReservaSlotRepository reservaSlotRepository, CaixaNotificacaoRepository caixaNotificacaoRepository,
+                 String senhaCodificada, long semente) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.reservaSlotRepository = reservaSlotRepository;
+        this.caixaNotificacaoRepository = caixaNotificacaoRepository;
+        this.senhaCodificada = senhaCodificada;
+        this.random = new Random(semente);
+    }
+
+    List<Morador> gerar(int condominios, int moradores, int registros, int areas, int sessoesAbertas) {
+        List<Morador> gerados = new ArrayList<>(condominios * moradores);
+        for (int c = 0; c < condominios; c++) {
+            int indice = c;
+            gerados.addAll(transactionTemplate.execute(status ->
+                    gerarCondominio(indice, moradores, registros, areas, sessoesAbertas)));
+        }
+        return gerados;
+    }
+
+    private List<Morador> gerarCondominio(int indice, int quantidadeMoradores, int registros, int quantidadeAreas,
+                                          int quantidadeSessoesAbertas) {
+        pendentes = 0;
+        Condominio condominio = new Condominio();
+        condominio.setNome("Residencial Carga " + indice);
+        condominio.setEndereco("Rua da Capacidade, " + indice);
+        persistir(condominio);
+
+        Usuarios sindico = usuario(condominio, indice, 0, TipoDoUsuario.SINDICO);
+        List<Usuarios> moradores = new ArrayList<>(quantidadeMoradores);
+        for (int i = 1; i <= quantidadeMoradores; i++) {
+            moradores.add(usuario(condominio, indice, i, TipoDoUsuario.MORADOR));
+        }
+
+        List<AreasComuns> areas = new ArrayList<>(quantidadeAreas);
+        for (int i = 0; i < quantidadeAreas; i++) {
+            AreasComuns area = new AreasComuns();
+            // A reserva localiza a área pelo nome, então ele precisa ser único entre os condomínios
+            area.setNome("Área " + indice + "-" + i);
+            area.setDisponivel(true);
+            area.setCondominio(condominio);
+            persistir(area);
+            areas.add(area);
+        }
+
+        List<Reservas> reservas = new ArrayList<>(registros);
+        for (int i = 0; i < registros; i++) {
+            int horario = i / quantidadeAreas;
+            Reservas reserva = new Reservas();
+            reserva.setAreasComuns(areas.get(i % quantidadeAreas));
+            reserva.setDataReserva(LocalDate.now().minusDays(1 + horario / HORARIOS_POR_DIA));
+            reserva.setHoraInicio(LocalTime.of(8 + horario % HORARIOS_POR_DIA, 0));
+            reserva.setHoraFim(reserva.getHoraInicio().plusHours(1));
+            persistir(reserva);
+            reservas.add(reserva);
+        }
+        entityManager.flush();
+        for (Reservas reserva : reservas) {
+            reservaSlotRepository.ocupar(reserva.getAreasComuns().getId(), reserva.getDataReserva(),
+                    AgendaReservas.slotInicial(reserva.getHoraInicio()), AgendaReservas.slotFinal(reserva.getHoraFim()),
+                    reserva.getId());
+        }
+
+        gerarVotos(condominio, moradores, registros);
+
+        List<Long> sessoesAbertas = new ArrayList<>(quantidadeSessoesAbertas);
+        for (int i = 0; i < quantidadeSessoesAbertas; i++) {
+            SessaoVotacao sessao = sessao(condominio, "Proposta em aberto " + i, LocalDate.now(), LocalDate.now().plusDays(30));
+            sessoesAbertas.add(sessao.getId());
+        }
+
+        Ocorrencias.TipoOcorrencia[] tipos = Ocorrencias.TipoOcorrencia.values();
+        for (int i = 0; i < registros; i++) {
+            Ocorrencias ocorrencia = new Ocorrencias();
+            ocorrencia.setTitulo("Ocorrência " + i);
+            ocorrencia.setDescricao("Registrada pelo gerador de carga.");
+            ocorrencia.setTipo(tipos[random.nextInt(tipos.length)]);
+            ocorrencia.setDataCriacao(LocalDateTime.now().minusHours(random.nextInt(24 * 90)));
+            ocorrencia.setUsuario(moradores.get(random.nextInt(moradores.size())));
+            ocorrencia.setArea(random.nextBoolean() ? areas.get(random.nextInt(areas.size())) : null);
+            persistir(ocorrencia);
+        }
+
+        List<Long> notificacoes = new ArrayList<>(registros);
+        for (int i = 0; i < registros; i++) {
+            Comunicados comunicado = new Comunicados();
+            comunicado.setTitulo("Comunicado " + i);
+            comunicado.setMensagem("Aviso gerado para o teste de carga.");
+            comunicado.setUsuarios(sindico);
+            comunicado.setCondominio(condominio);
+            persistir(comunicado);
+
+            Notificacoes notificacao = new Notificacoes();
+            notificacao.setTitulo(comunicado.getTitulo());
+            notificacao.setCorpoDeTexto(comunicado.getMensagem());
+            notificacao.setComunicado(comunicado);
+            notificacao.setUsuario(sindico);
+            persistir(notificacao);
+            notificacoes.add(notificacao.getId());
+        }
+        entityManager.flush();
+        List<Long> destinatarios = new ArrayList<>(moradores.size() + 1);
+        destinatarios.add(sindico.getId());
+        moradores.forEach(morador -> destinatarios.add(morador.getId()));
+        caixaNotificacaoRepository.inserir(destinatarios, notificacoes);
+
+        List<Area> areasGeradas = areas.stream().map(area -> new Area(area.getId(), area.getNome())).toList();
+        List<Morador> gerados = moradores.stream()
+                .map(morador -> new Morador(morador.getId(), morador.getCpf(), condominio.getId(), areasGeradas, sessoesAbertas))
+                .toList();
+        entityManager.clear();
+        return gerados;
+    }
+
+    // Os votos semeados ficam em sessões passadas, já encerradas com o resultado congelado como faria o encerramento
+    private void gerarVotos(Condominio condominio, List<Usuarios> moradores, int registros) {
+        int sessoes = (registros + moradores.size() - 1) / moradores.size();
+        for (int s = 0; s < sessoes; s++) {
+            SessaoVotacao sessao = sessao(condominio, "Proposta encerrada " + s,
+                    LocalDate.now().minusDays(60L + 7 * s), LocalDate.now().minusDays(53L + 7 * s));
+            sessao.setEncerrada(true);
+
+            int votos = Math.min(moradores.size(), registros - s * moradores.size());
+            long sim = 0;
+            for (int i = 0; i < votos; i++) {
+                Voto voto = new Voto();
+                voto.setVoto(random.nextBoolean());
+                voto.setSessaoVotacao(sessao);
+                voto.setUsuarios(moradores.get(i));
+                persistir(voto);
+                if (voto.getVoto()) {
+                    sim++;
+                }
+            }
+            long elegiveis = moradores.size() + 1;
+            BigDecimal participacao = BigDecimal.valueOf(votos * 100L)
+                    .divide(BigDecimal.valueOf(elegiveis), 2, RoundingMode.HALF_UP);
+            persistir(new ResultadoVotacao(sessao.getId(), sim, votos - sim, elegiveis - votos, elegiveis,
+                    participacao, sessao.getDataFim().atStartOfDay()));
+        }
+    }
+
+    private SessaoVotacao sessao(Condominio condominio, String proposta, LocalDate inicio, LocalDate fim) {
+        SessaoVotacao sessao = new SessaoVotacao();
+        sessao.setProposta(proposta);
+        sessao.setDescricao("Gerada para o teste de carga.");
+        sessao.setDataInicio(inicio);
+        sessao.setDataFim(fim);
+        sessao.setCondominio(condominio);
+        persistir(sessao);
+        return sessao;
+    }
+
+    private Usuarios usuario(Condominio condominio, int condominioIndice, int indice, TipoDoUsuario tipo) {
+        Usuarios usuario = new Usuarios();
+        usuario.setNome((tipo == TipoDoUsuario.SINDICO ? "Síndico " : "Morador ") + condominioIndice + "-" + indice);
+        usuario.setCpf(cpf(condominioIndice * 100_000L + indice));
+        // Um único hash para todos: o BCrypt de cada cadastro dominaria o tempo de geração
+        usuario.setSenha(senhaCodificada);
+        usuario.setTelefone(String.format("119%08d", indice));
+        usuario.setTipoDoUsuario(tipo);
+        usuario.setBloco(String.valueOf((char) ('A' + indice % 4)));
+        usuario.setApartamento(101 + indice / 4);
+        usuario.setCondominio(condominio);
+        persistir(usuario);
+        return usuario;
+    }
+
+    private void persistir(Object entidade) {
+        entityManager.persist(entidade);
+        if (++pendentes % LOTE_FLUSH == 0) {
+            entityManager.flush();
+        }
+    }
+
+    static String cpf(long numero) {
+        return String.format("%03d.%03d.%03d-%02d",
+                numero / 100_000_000 % 1000, numero / 100_000 % 1000, numero / 100 % 1000, numero % 100);
+    }
+}
@@ -0,0 +1,48 @@
+package com.argus.api.carga;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Operações do tráfego misto; o peso padrão aproxima o uso de um morador, dominado pela leitura do feed
+enum Operacao {
+
+    LOGIN("POST /auth/login", 2),
+    RESERVA("POST /reservas", 8),
+    VOTO("POST /votos", 7),
+    COMUNICADOS("GET /comunicado", 33),
+    NOTIFICACOES("GET /notificacoes", 25),
+    NAO_LIDAS("GET /notificacoes/nao-lidas", 15),
+    DISPONIBILIDADE("GET /areasComuns/{id}/disponibilidade", 10);
+
+    final String rotulo;
+    final int pesoPadrao;
+
+    Operacao(String rotulo, int pesoPadrao) {
+        this.rotulo = rotulo;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    // Formato "login:5,reserva:10,..."; operações omitidas mantêm o peso padrão e peso 0 as desliga
+    static Map<Operacao, Integer> pesos(String mix) {
+        Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : values()) {
+            pesos.put(operacao, operacao.pesoPadrao);
+        }
+        if (mix == null || mix.isBlank()) {
+            return pesos;
+        }
+        for (String item : mix.split(",")) {
+            String[] partes = item.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item inválido no mix de operações: " + item);
+            }
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix de operações: " + item);
+            }
+            pesos.put(Operacao.valueOf(partes[0].trim().toUpperCase(Locale.ROOT)), peso);
+        }
+        return pesos;
+    }
+}
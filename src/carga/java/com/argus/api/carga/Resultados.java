@@ -0,0 +1,100 @@
+package com.argus.api.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência e contagem de respostas por operação. Os {@link Recorder} do HdrHistogram aceitam gravações
+ * concorrentes sem bloqueio e trocam o histograma a cada leitura, o que permite descartar o aquecimento
+ * e fechar a medição sem parar os usuários virtuais.
+ */
+class Resultados {
+
+    record Linha(String operacao, long total, long sucessos, long rejeitadas, long erros, double porSegundo,
+                 double p50, double p99, double p999, double maximo) {
+    }
+
+    private static final class Contadores {
+        final Recorder latencias = new Recorder(3);
+        final LongAdder sucessos = new LongAdder();
+        final LongAdder rejeitadas = new LongAdder();
+        final LongAdder erros = new LongAdder();
+    }
+
+    private final Map<Operacao, Contadores> porOperacao = new EnumMap<>(Operacao.class);
+
+    Resultados() {
+        for (Operacao operacao : Operacao.values()) {
+            porOperacao.put(operacao, new Contadores());
+        }
+    }
+
+    // 4xx são recusas de negócio (horário ocupado, voto repetido); 5xx e falhas de rede são erros
+    void registrar(Operacao operacao, int status, long nanos) {
+        Contadores contadores = porOperacao.get(operacao);
+        contadores.latencias.recordValue(nanos / 1000);
+        if (status < 400) {
+            contadores.sucessos.increment();
+        } else if (status < 500) {
+            contadores.rejeitadas.increment();
+        } else {
+            contadores.erros.increment();
+        }
+    }
+
+    void registrarFalha(Operacao operacao) {
+        porOperacao.get(operacao).erros.increment();
+    }
+
+    // Chamado ao fim do aquecimento: descarta o que foi gravado até aqui
+    void zerar() {
+        porOperacao.values().forEach(contadores -> {
+            contadores.latencias.reset();
+            contadores.sucessos.reset();
+            contadores.rejeitadas.reset();
+            contadores.erros.reset();
+        });
+    }
+
+    List<Linha> fechar(Duration duracao) {
+        double segundos = duracao.toNanos() / 1e9;
+        List<Linha> linhas = new ArrayList<>();
+        for (Map.Entry<Operacao, Contadores> entrada : porOperacao.entrySet()) {
+            Contadores contadores = entrada.getValue();
+            Histogram histograma = contadores.latencias.getIntervalHistogram();
+            long sucessos = contadores.sucessos.sum();
+            long rejeitadas = contadores.rejeitadas.sum();
+            long erros = contadores.erros.sum();
+            long total = sucessos + rejeitadas + erros;
+            if (total == 0) {
+                continue;
+            }
+            linhas.add(new Linha(entrada.getKey().rotulo, total, sucessos, rejeitadas, erros, total / segundos,
+                    milis(histograma, 50), milis(histograma, 99), milis(histograma, 99.9),
+                    histograma.getMaxValue() / 1000.0));
+        }
+        return linhas;
+    }
+
+    static Map<String, Object> resumo(List<Linha> linhas, Duration duracao) {
+        long total = linhas.stream().mapToLong(Linha::total).sum();
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("duracaoSegundos", duracao.toSeconds());
+        resumo.put("requisicoes", total);
+        resumo.put("porSegundo", total / (duracao.toNanos() / 1e9));
+        resumo.put("operacoes", linhas);
+        return resumo;
+    }
+
+    private static double milis(Histogram histograma, double percentil) {
+        return histograma.getValueAtPercentile(percentil) / 1000.0;
+    }
+}
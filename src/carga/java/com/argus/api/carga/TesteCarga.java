@@ -0,0 +1,248 @@
+package com.argus.api.carga;
+
+import com.argus.api.ApiApplication;
+import com.argus.api.carga.GeradorDados.Morador;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.ReservaSlotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Teste de carga reprodutível: sobe a aplicação completa num H2 em modo MySQL com o schema do Flyway, popula o
+ * banco com o {@link GeradorDados} e dispara tráfego misto de moradores contra a porta HTTP real. Ao fim imprime
+ * vazão e latências p50/p99/p999 por endpoint e grava o mesmo resumo em JSON.
+ *
+ * <p>Parâmetros no formato --carga.chave=valor (padrões entre parênteses): condominios (10), moradores por
+ * condomínio (100), registros de reservas, votos, ocorrências e comunicados por condomínio (200), areas (3),
+ * sessoes-abertas (5), usuarios virtuais simultâneos (50), aquecimento (15s), duracao (60s), pausa entre
+ * requisições de cada usuário (0ms), semente (42), mix (ver {@link Operacao#pesos}), threads e resultado
+ * (target/carga-resultado.json). Os demais argumentos seguem para o Spring, então --api.* e --spring.* permitem
+ * comparar configurações com a mesma massa de dados.
+ *
+ * <p>Com --carga.threads=ambos a aplicação sobe duas vezes, em threads de plataforma e depois em threads virtuais
+ * (Java 21+), e o relatório compara vazão e p99. A diferença só aparece com mais usuários que threads do Tomcat
+ * (200 por padrão) ou com a pausa simulando clientes lentos.
+ *
+ * <p>O gerador roda na mesma JVM que a aplicação e disputa CPU com ela; os números servem para comparar
+ * configurações e versões entre si, não como capacidade absoluta de produção.
+ */
+public class TesteCarga {
+
+    private static final String PLATAFORMA = "plataforma";
+    private static final String VIRTUAIS = "virtuais";
+
+    private static final Map<String, String> PADROES = Map.of(
+            "spring.datasource.driver-class-name", "org.h2.Driver",
+            "spring.datasource.username", "sa",
+            "spring.datasource.password", "",
+            "server.port", "0",
+            "logging.level.root", "WARN");
+
+    record Execucao(String threads, List<Resultados.Linha> linhas, Duration medido) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // O reinício do devtools trocaria o classloader no meio da medição
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> modos = modos(argumento(args, "carga.threads"));
+        Path arquivoResultado = Path.of(Objects.requireNonNullElse(
+                argumento(args, "carga.resultado"), "target/carga-resultado.json"));
+
+        List<Execucao> execucoes = new ArrayList<>();
+        for (String modo : modos) {
+            try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ApiApplication.class)
+                    .run(argumentos(args, modo))) {
+                execucoes.add(executar(contexto));
+            }
+        }
+        if (execucoes.size() > 1) {
+            comparar(execucoes);
+        }
+
+        Map<String, Object> resumos = new LinkedHashMap<>();
+        execucoes.forEach(execucao -> resumos.put(execucao.threads(), Resultados.resumo(execucao.linhas(), execucao.medido())));
+        if (arquivoResultado.getParent() != null) {
+            Files.createDirectories(arquivoResultado.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(arquivoResultado.toFile(), resumos);
+        System.out.println("Resultado gravado em " + arquivoResultado.toAbsolutePath());
+    }
+
+    // carga.threads: plataforma, virtuais ou ambos (uma execução de cada, com a mesma massa); sem ele vale a configuração
+    private static List<String> modos(String threads) {
+        List<String> modos = threads == null ? Collections.singletonList(null) : switch (threads) {
+            case PLATAFORMA, VIRTUAIS -> List.of(threads);
+            case "ambos" -> List.of(PLATAFORMA, VIRTUAIS);
+            default -> throw new IllegalArgumentException("carga.threads deve ser plataforma, virtuais ou ambos.");
+        };
+        if (modos.contains(VIRTUAIS) && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21 ou superior.");
+        }
+        return modos;
+    }
+
+    // Argumentos de linha de comando, para prevalecer sobre o application.yml; os do usuário substituem os padrões
+    private static String[] argumentos(String[] args, String modo) {
+        Map<String, String> padroes = new LinkedHashMap<>(PADROES);
+        // Cada execução em banco próprio, para que a comparação parta da mesma massa de dados
+        padroes.put("spring.datasource.url", "jdbc:h2:mem:carga-" + Objects.requireNonNullElse(modo, "padrao")
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        if (modo != null) {
+            padroes.put("spring.threads.virtual.enabled", String.valueOf(modo.equals(VIRTUAIS)));
+        }
+
+        List<String> argumentos = new ArrayList<>(List.of(args));
+        padroes.forEach((chave, valor) -> {
+            if (argumento(args, chave) == null) {
+                argumentos.add("--" + chave + "=" + valor);
+            }
+        });
+        return argumentos.toArray(String[]::new);
+    }
+
+    private static String argumento(String[] args, String chave) {
+        return Arrays.stream(args)
+                .filter(argumento -> argumento.startsWith("--" + chave + "="))
+                .map(argumento -> argumento.substring(chave.length() + 3))
+                .reduce((primeiro, ultimo) -> ultimo)
+                .orElse(null);
+    }
+
+    private static Execucao executar(ConfigurableApplicationContext contexto) throws InterruptedException {
+        Environment ambiente = contexto.getEnvironment();
+        int condominios = ambiente.getProperty("carga.condominios", Integer.class, 10);
+        int moradores = ambiente.getProperty("carga.moradores", Integer.class, 100);
+        int registros = ambiente.getProperty("carga.registros", Integer.class, 200);
+        int areas = ambiente.getProperty("carga.areas", Integer.class, 3);
+        int sessoesAbertas = ambiente.getProperty("carga.sessoes-abertas", Integer.class, 5);
+        int usuarios = ambiente.getProperty("carga.usuarios", Integer.class, 50);
+        Duration aquecimento = ambiente.getProperty("carga.aquecimento", Duration.class, Duration.ofSeconds(15));
+        Duration duracao = ambiente.getProperty("carga.duracao", Duration.class, Duration.ofSeconds(60));
+        Duration pausa = ambiente.getProperty("carga.pausa", Duration.class, Duration.ZERO);
+        long semente = ambiente.getProperty("carga.semente", Long.class, 42L);
+        Map<Operacao, Integer> pesos = Operacao.pesos(ambiente.getProperty("carga.mix"));
+        if (condominios <= 0 || moradores <= 0 || areas <= 0 || usuarios <= 0) {
+            throw new IllegalArgumentException("Condomínios, moradores, áreas e usuários devem ser maiores que zero.");
+        }
+
+        ObjectMapper objectMapper = contexto.getBean(ObjectMapper.class);
+        EntityManagerFactory entityManagerFactory = contexto.getBean(EntityManagerFactory.class);
+        GeradorDados gerador = new GeradorDados(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                contexto.getBean(TransactionTemplate.class),
+                contexto.getBean(ReservaSlotRepository.class),
+                contexto.getBean(CaixaNotificacaoRepository.class),
+                contexto.getBean(PasswordEncoder.class).encode(GeradorDados.SENHA),
+                semente);
+
+        long inicioGeracao = System.nanoTime();
+        List<Morador> gerados = gerador.gerar(condominios, moradores, registros, areas, sessoesAbertas);
+        System.out.printf("Massa gerada: %d condomínios, %d moradores, %d registros por tipo em %d ms%n",
+                condominios, gerados.size(), (long) condominios * registros,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioGeracao));
+
+        String base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        Operacao[] sorteio = pesos.entrySet().stream()
+                .flatMap(peso -> Stream.generate(peso::getKey).limit(peso.getValue()))
+                .toArray(Operacao[]::new);
+        if (sorteio.length == 0) {
+            throw new IllegalArgumentException("O mix de operações não tem nenhum peso positivo.");
+        }
+
+        Resultados resultados = new Resultados();
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        for (int i = 0; i < usuarios; i++) {
+            // Usuário i representa sempre o mesmo morador, espalhando a carga por todos os condomínios
+            Morador morador = gerados.get((int) ((long) i * gerados.size() / usuarios));
+            executor.execute(new UsuarioVirtual(cliente, objectMapper, base, morador, sorteio, resultados, pausa,
+                    ativo::get, semente + i));
+        }
+
+        String threads = Threading.VIRTUAL.isActive(ambiente) ? VIRTUAIS : PLATAFORMA;
+        System.out.printf("Aquecimento de %ds com %d usuários virtuais (threads de %s, Java %s)...%n",
+                aquecimento.toSeconds(), usuarios, threads, Runtime.version().feature());
+        Thread.sleep(aquecimento.toMillis());
+        resultados.zerar();
+        long inicioMedicao = System.nanoTime();
+        System.out.printf("Medindo por %ds...%n", duracao.toSeconds());
+        Thread.sleep(duracao.toMillis());
+        Duration medido = Duration.ofNanos(System.nanoTime() - inicioMedicao);
+        List<Resultados.Linha> linhas = resultados.fechar(medido);
+
+        ativo.set(false);
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        imprimir(linhas, medido);
+        return new Execucao(threads, linhas, medido);
+    }
+
+    private static void comparar(List<Execucao> execucoes) {
+        Execucao base = execucoes.get(0);
+        Execucao outra = execucoes.get(1);
+        String formato = "%-40s %14s %14s %14s %14s%n";
+        System.out.printf("%nComparação (%s x %s)%n", base.threads(), outra.threads());
+        System.out.printf(formato, "Operação", "req/s " + base.threads(), "req/s " + outra.threads(),
+                "p99 " + base.threads(), "p99 " + outra.threads());
+        for (Resultados.Linha linha : base.linhas()) {
+            outra.linhas().stream().filter(comparada -> comparada.operacao().equals(linha.operacao())).findFirst()
+                    .ifPresent(comparada -> System.out.printf(formato, linha.operacao(),
+                            String.format("%.1f", linha.porSegundo()), String.format("%.1f", comparada.porSegundo()),
+                            String.format("%.2f", linha.p99()), String.format("%.2f", comparada.p99())));
+        }
+        System.out.printf("Vazão total: %.1f x %.1f req/s%n", vazao(base), vazao(outra));
+    }
+
+    private static double vazao(Execucao execucao) {
+        return execucao.linhas().stream().mapToLong(Resultados.Linha::total).sum() / (execucao.medido().toNanos() / 1e9);
+    }
+
+    private static void imprimir(List<Resultados.Linha> linhas, Duration medido) {
+        String formato = "%-40s %9s %9s %9s %9s %10s %10s %10s %10s%n";
+        System.out.printf(formato, "Operação", "Total", "4xx", "Erros", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "máx ms");
+        long total = 0;
+        for (Resultados.Linha linha : linhas) {
+            total += linha.total();
+            System.out.printf(formato, linha.operacao(), linha.total(), linha.rejeitadas(), linha.erros(),
+                    String.format("%.1f", linha.porSegundo()), String.format("%.2f", linha.p50()),
+                    String.format("%.2f", linha.p99()), String.format("%.2f", linha.p999()),
+                    String.format("%.2f", linha.maximo()));
+        }
+        System.out.printf("Total: %d requisições em %ds (%.1f req/s)%n", total, medido.toSeconds(),
+                total / (medido.toNanos() / 1e9));
+    }
+}
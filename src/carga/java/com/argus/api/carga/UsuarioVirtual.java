@@ -0,0 +1,147 @@
+package com.argus.api.carga;
+
+import com.argus.api.carga.GeradorDados.Area;
+import com.argus.api.carga.GeradorDados.Morador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Um morador repetindo operações sorteadas pelo peso do mix até o fim do teste, em ciclo fechado: a próxima
+ * requisição só sai depois da resposta anterior e da pausa configurada. Começa pelo login e guarda o token.
+ */
+class UsuarioVirtual implements Runnable {
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final HttpClient cliente;
+    private final ObjectMapper objectMapper;
+    private final String base;
+    private final Morador morador;
+    private final Operacao[] sorteio;
+    private final Resultados resultados;
+    private final Duration pausa;
+    private final BooleanSupplier ativo;
+    private final Random random;
+    private String token;
+    private int proximaSessao;
+
+    UsuarioVirtual(HttpClient cliente, ObjectMapper objectMapper, String base, Morador morador, Operacao[] sorteio,
+                   Resultados resultados, Duration pausa, BooleanSupplier ativo, long semente) {
+        this.cliente = cliente;
+        this.objectMapper = objectMapper;
+        this.base = base;
+        this.morador = morador;
+        this.sorteio = sorteio;
+        this.resultados = resultados;
+        this.pausa = pausa;
+        this.ativo = ativo;
+        this.random = new Random(semente);
+    }
+
+    @Override
+    public void run() {
+        executar(Operacao.LOGIN);
+        while (ativo.getAsBoolean()) {
+            executar(sorteio[random.nextInt(sorteio.length)]);
+            if (!pausa.isZero() && !pausar()) {
+                return;
+            }
+        }
+    }
+
+    private void executar(Operacao operacao) {
+        HttpRequest requisicao;
+        try {
+            requisicao = requisicao(operacao);
+        } catch (IOException e) {
+            resultados.registrarFalha(operacao);
+            return;
+        }
+        if (requisicao == null) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+            resultados.registrar(operacao, resposta.statusCode(), System.nanoTime() - inicio);
+            if (operacao == Operacao.LOGIN && resposta.statusCode() == 200) {
+                token = objectMapper.readTree(resposta.body()).get("token").asText();
+            }
+        } catch (IOException e) {
+            resultados.registrarFalha(operacao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Retorna null quando a operação não se aplica agora: sem token ou sem sessão aberta em que ainda não votou
+    private HttpRequest requisicao(Operacao operacao) throws IOException {
+        if (operacao == Operacao.LOGIN) {
+            return HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(corpo(Map.of("cpf", morador.cpf(), "password", GeradorDados.SENHA)))
+                    .build();
+        }
+        if (token == null) {
+            return null;
+        }
+        HttpRequest.Builder builder = switch (operacao) {
+            case RESERVA -> {
+                Area area = morador.areas().get(random.nextInt(morador.areas().size()));
+                int hora = 8 + random.nextInt(13);
+                yield HttpRequest.newBuilder(URI.create(base + "/reservas"))
+                        .header("Content-Type", "application/json")
+                        .POST(corpo(Map.of(
+                                "areaNome", area.nome(),
+                                "dataReserva", LocalDate.now().plusDays(1 + random.nextInt(60)).format(FORMATO_DATA),
+                                "horaInicio", String.format("%02d:00", hora),
+                                "horaFim", String.format("%02d:00", hora + 1))));
+            }
+            case VOTO -> {
+                if (proximaSessao >= morador.sessoesAbertas().size()) {
+                    yield null;
+                }
+                yield HttpRequest.newBuilder(URI.create(base + "/votos"))
+                        .header("Content-Type", "application/json")
+                        .header("usuarioId", String.valueOf(morador.id()))
+                        .POST(corpo(Map.of("sessaoId", morador.sessoesAbertas().get(proximaSessao++),
+                                "voto", random.nextBoolean())));
+            }
+            case COMUNICADOS -> HttpRequest.newBuilder(URI.create(base + "/comunicado?limit=20"));
+            case NOTIFICACOES -> HttpRequest.newBuilder(URI.create(base + "/notificacoes?limit=20"));
+            case NAO_LIDAS -> HttpRequest.newBuilder(URI.create(base + "/notificacoes/nao-lidas"));
+            case DISPONIBILIDADE -> {
+                Area area = morador.areas().get(random.nextInt(morador.areas().size()));
+                yield HttpRequest.newBuilder(URI.create(base + "/areasComuns/" + area.id() + "/disponibilidade"));
+            }
+            case LOGIN -> throw new IllegalStateException();
+        };
+        return builder == null ? null : builder.header("Authorization", "Bearer " + token).build();
+    }
+
+    private HttpRequest.BodyPublisher corpo(Object valor) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(valor));
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausa.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
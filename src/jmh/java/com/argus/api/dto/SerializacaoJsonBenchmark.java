@@ -0,0 +1,74 @@
+package com.argus.api.dto;
+
+import com.argus.api.domain.model.Ocorrencias;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização de listas grandes com um ObjectMapper configurado como o do Spring MVC
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<ReservasDTO> reservas;
+    private List<OcorrenciasDTO> ocorrencias;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reservas = new ArrayList<>(tamanho);
+        ocorrencias = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            reservas.add(new ReservasDTO((long) i, "Salão de festas", LocalDate.of(2026, 1, 1).plusDays(i % 365),
+                    LocalTime.of(8 + i % 10, 0), LocalTime.of(9 + i % 10, 30)));
+
+            OcorrenciasDTO ocorrencia = new OcorrenciasDTO();
+            ocorrencia.setId((long) i);
+            ocorrencia.setTitulo("Ocorrência " + i);
+            ocorrencia.setDescricao("Vazamento na garagem próximo à vaga " + i);
+            ocorrencia.setTipo(Ocorrencias.TipoOcorrencia.values()[i % Ocorrencias.TipoOcorrencia.values().length]);
+            ocorrencia.setStatusAprovacao(Ocorrencias.StatusAprovacao.AGUARDANDO);
+            ocorrencia.setStatusResolucao(Ocorrencias.StatusResolucao.PENDENTE);
+            ocorrencia.setDataCriacao(LocalDateTime.of(2026, 1, 1, 10, 0).plusMinutes(i));
+            ocorrencia.setIdUsuario((long) i);
+            ocorrencia.setIdArea(i % 2 == 0 ? (long) i : null);
+            ocorrencias.add(ocorrencia);
+        }
+    }
+
+    @Benchmark
+    public byte[] reservas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservas);
+    }
+
+    @Benchmark
+    public byte[] ocorrencias() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ocorrencias);
+    }
+}
@@ -0,0 +1,80 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.service.AuthorizationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma requisição autenticada atravessando o SecurityFilter: leitura do cabeçalho, validação do token, checagem
+ * de revogação e montagem do principal. No modo stateless o principal vem das claims; no outro, do cache de
+ * principais (aqui um Caffeine sempre quente, sem o proxy do Spring Cache).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterBenchmark {
+
+    private static final FilterChain FIM_DA_CADEIA = (request, response) -> { };
+
+    @Param({"true", "false"})
+    public boolean stateless;
+
+    private SecurityFilter filtro;
+    private String cabecalho;
+
+    @Setup
+    public void preparar() {
+        TokenService tokenService = TokenServiceBenchmark.novoTokenService();
+        Usuarios usuario = TokenServiceBenchmark.usuario();
+        cabecalho = "Bearer " + tokenService.generateToken(usuario);
+
+        Cache<String, UserDetails> principais = Caffeine.newBuilder().build();
+        principais.put(usuario.getCpf(), usuario);
+
+        filtro = new SecurityFilter();
+        filtro.tokenService = tokenService;
+        filtro.revogacaoTokens = new RevogacaoTokens(null, null);
+        filtro.autenticacaoStateless = stateless;
+        filtro.authorizationService = new AuthorizationService() {
+            @Override
+            public UserDetails carregarPrincipal(String cpf) {
+                return principais.getIfPresent(cpf);
+            }
+        };
+    }
+
+    @Benchmark
+    public Authentication autenticarRequisicao() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reservas");
+        request.addHeader("Authorization", cabecalho);
+        try {
+            filtro.doFilter(request, new MockHttpServletResponse(), FIM_DA_CADEIA);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
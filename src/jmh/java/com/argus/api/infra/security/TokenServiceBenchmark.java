@@ -0,0 +1,81 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Usuarios;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Emissão e validação de token; a linha de base monta o Algorithm e o JWTVerifier a cada chamada, como antes do cache
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    static final String SEGREDO = "segredo-benchmark";
+
+    private TokenService tokenService;
+    private Usuarios usuario;
+    private String token;
+    private String emissor;
+
+    @Setup
+    public void preparar() {
+        tokenService = novoTokenService();
+        usuario = usuario();
+        token = tokenService.generateToken(usuario);
+        emissor = JWT.decode(token).getIssuer();
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String validarToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public DecodedJWT validarTokenReconstruindoVerificador() {
+        return JWT.require(Algorithm.HMAC256(SEGREDO)).withIssuer(emissor).build().verify(token);
+    }
+
+    static TokenService novoTokenService() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SEGREDO);
+        ReflectionTestUtils.setField(tokenService, "kidAtivo", "principal");
+        ReflectionTestUtils.setField(tokenService, "chavesAnteriores", "");
+        tokenService.inicializarChaves();
+        return tokenService;
+    }
+
+    static Usuarios usuario() {
+        Condominio condominio = new Condominio();
+        condominio.setId(7L);
+        Usuarios usuario = new Usuarios();
+        usuario.setId(42L);
+        usuario.setCpf("123.456.789-00");
+        usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+        usuario.setCondominio(condominio);
+        return usuario;
+    }
+}
@@ -0,0 +1,145 @@
+package com.argus.api.repository;
+
+import com.argus.api.ApiApplication;
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.repository.VotoLoteRepository.VotoPendente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserção em massa de votos (fila de ingestão) e notificações (fan-out do despacho) num H2 em modo MySQL com o
+ * schema do Flyway. Com batch_size 0 cada linha é um comando; com 50 o Hibernate agrupa os inserts, o que só é
+ * possível com os ids das sequências em bloco. No MySQL o rewriteBatchedStatements ainda junta cada lote num
+ * único INSERT multi-linha, então o ganho real é maior que o medido aqui.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercaoLoteBenchmark {
+
+    private static final int LINHAS = 500;
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext contexto;
+    private VotoLoteRepository votoLoteRepository;
+    private NotificacaoRepository notificacaoRepository;
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+    private JdbcTemplate jdbcTemplate;
+    private Condominio condominio;
+    private List<Usuarios> moradores;
+    private SessaoVotacao sessao;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Argumentos de linha de comando, para prevalecer sobre o application.yml
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:insercao-" + batchSize + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        // Tarefas periódicas não disputam o banco durante a medição
+                        "--api.notificacoes.despacho.intervalo-ms=3600000",
+                        "--api.votacao.encerramento.intervalo-ms=3600000",
+                        "--api.votacao.reconciliacao.intervalo-ms=3600000",
+                        "--logging.level.root=WARN");
+        votoLoteRepository = contexto.getBean(VotoLoteRepository.class);
+        notificacaoRepository = contexto.getBean(NotificacaoRepository.class);
+        sessaoVotacaoRepository = contexto.getBean(SessaoVotacaoRepository.class);
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+
+        condominio = new Condominio();
+        condominio.setNome("Residencial Benchmark");
+        condominio.setEndereco("Rua das Medidas, 100");
+        contexto.getBean(CondominioRepository.class).save(condominio);
+
+        moradores = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            Usuarios usuario = new Usuarios();
+            usuario.setNome("Morador " + i);
+            usuario.setCpf(String.valueOf(i));
+            usuario.setSenha("senha");
+            usuario.setTelefone("11999990000");
+            usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            usuario.setCondominio(condominio);
+            moradores.add(usuario);
+        }
+        contexto.getBean(UsuarioRepository.class).saveAll(moradores);
+    }
+
+    // Cada morador só vota uma vez por sessão, então cada chamada usa uma sessão nova
+    @Setup(Level.Invocation)
+    public void novaSessao() {
+        sessao = new SessaoVotacao();
+        sessao.setProposta("Proposta");
+        sessao.setDescricao("Benchmark");
+        sessao.setDataInicio(LocalDate.now());
+        sessao.setDataFim(LocalDate.now().plusDays(1));
+        sessao.setCondominio(condominio);
+        sessaoVotacaoRepository.save(sessao);
+    }
+
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        jdbcTemplate.update("DELETE FROM voto");
+        jdbcTemplate.update("DELETE FROM notificacoes");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int[] votos() {
+        List<VotoPendente> votos = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            votos.add(new VotoPendente(sessao.getId(), moradores.get(i).getId(), i % 2 == 0));
+        }
+        return votoLoteRepository.inserir(votos);
+    }
+
+    @Benchmark
+    public List<Notificacoes> notificacoes() {
+        List<Notificacoes> notificacoes = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            Notificacoes notificacao = new Notificacoes();
+            notificacao.setTitulo("Comunicado " + i);
+            notificacao.setCorpoDeTexto("Manutenção programada da caixa d'água.");
+            notificacoes.add(notificacao);
+        }
+        return notificacaoRepository.saveAllAndFlush(notificacoes);
+    }
+}
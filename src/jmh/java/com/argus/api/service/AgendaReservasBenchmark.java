@@ -0,0 +1,94 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.repository.ReservasRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detecção de conflito de reserva num dia com {@code ocupadas} reservas de 15 minutos. Além da consulta direta
+ * à AgendaDia, mede a tentativa de reserva recusada pela AgendaReservas, que inclui a trava e a reconfirmação
+ * no banco (aqui um repositório que devolve as mesmas reservas sem I/O).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgendaReservasBenchmark {
+
+    private static final Long AREA = 1L;
+    private static final LocalDate DIA = LocalDate.of(2026, 1, 1);
+
+    @Param({"8", "48"})
+    public int ocupadas;
+
+    private AgendaDia agenda;
+    private AgendaReservas agendaReservas;
+    private LocalTime inicioLivre;
+    private LocalTime inicioOcupado;
+
+    @Setup
+    public void preparar() {
+        agenda = new AgendaDia();
+        List<Reservas> reservas = new ArrayList<>();
+        // Reservas de 15 minutos intercaladas com intervalos livres de mesmo tamanho
+        for (int i = 0; i < ocupadas; i++) {
+            LocalTime inicio = LocalTime.of(0, 0).plusMinutes(30L * i);
+            agenda.adicionar((long) i, inicio, inicio.plusMinutes(15));
+
+            Reservas reserva = new Reservas();
+            reserva.setId((long) i);
+            reserva.setDataReserva(DIA);
+            reserva.setHoraInicio(inicio);
+            reserva.setHoraFim(inicio.plusMinutes(15));
+            reservas.add(reserva);
+        }
+        inicioOcupado = LocalTime.of(0, 0).plusMinutes(30L * (ocupadas / 2));
+        inicioLivre = inicioOcupado.plusMinutes(15);
+
+        ReservasRepository repositorio = Mockito.mock(ReservasRepository.class);
+        Mockito.when(repositorio.findByAreasComunsIdAndDataReserva(AREA, DIA)).thenReturn(reservas);
+        agendaReservas = new AgendaReservas(repositorio, Duration.ZERO, 0);
+    }
+
+    @Benchmark
+    public boolean conflitoLivre() {
+        return agenda.conflita(inicioLivre, inicioLivre.plusMinutes(15));
+    }
+
+    @Benchmark
+    public boolean conflitoOcupado() {
+        return agenda.conflita(inicioOcupado, inicioOcupado.plusMinutes(15));
+    }
+
+    @Benchmark
+    public String reservaRecusada() {
+        try {
+            agendaReservas.reservar(AREA, DIA, inicioOcupado, inicioOcupado.plusMinutes(15), () -> {
+                throw new IllegalStateException("Horário ocupado não deveria ser gravado.");
+            });
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+}
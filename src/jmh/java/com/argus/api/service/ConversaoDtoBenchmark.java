@@ -0,0 +1,166 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Ocorrencias;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.dto.AreasComunsDTO;
+import com.argus.api.dto.ComunicadoDTO;
+import com.argus.api.dto.OcorrenciasDTO;
+import com.argus.api.dto.ReservasDTO;
+import com.argus.api.dto.SessaoVotacaoDTO;
+import com.argus.api.dto.UsuarioDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+// Conversão entidade -> DTO de uma página inteira, como nas listagens de cada serviço
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversaoDtoBenchmark {
+
+    @Param({"100", "1000"})
+    public int tamanho;
+
+    private final UsuarioService usuarioService = new UsuarioService();
+    private final ReservasService reservasService = new ReservasService();
+    private final ComunicadoService comunicadoService = new ComunicadoService();
+    private final AreasComunsService areasComunsService = new AreasComunsService();
+    private final OcorrenciasService ocorrenciasService = new OcorrenciasService(null, null, null);
+    private final SessaoVotacaoService sessaoVotacaoService = new SessaoVotacaoService(null, null, null, null, null, null, null);
+
+    private List<Usuarios> usuarios;
+    private List<Reservas> reservas;
+    private List<Comunicados> comunicados;
+    private List<AreasComuns> areas;
+    private List<Ocorrencias> ocorrencias;
+    private List<SessaoVotacao> sessoes;
+
+    @Setup
+    public void preparar() {
+        Condominio condominio = new Condominio();
+        condominio.setId(1L);
+        condominio.setNome("Residencial Benchmark");
+        condominio.setEndereco("Rua das Medidas, 100");
+
+        areas = gerar(i -> {
+            AreasComuns area = new AreasComuns();
+            area.setId((long) i);
+            area.setNome("Área " + i);
+            area.setDisponivel(true);
+            area.setCondominio(condominio);
+            return area;
+        });
+        usuarios = gerar(i -> {
+            Usuarios usuario = new Usuarios();
+            usuario.setId((long) i);
+            usuario.setNome("Morador " + i);
+            usuario.setTelefone("11999990000");
+            usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            usuario.setBloco("B" + (i % 10));
+            usuario.setApartamento(i);
+            usuario.setCondominio(condominio);
+            return usuario;
+        });
+        reservas = gerar(i -> {
+            Reservas reserva = new Reservas();
+            reserva.setId((long) i);
+            reserva.setAreasComuns(areas.get(i));
+            reserva.setDataReserva(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+            reserva.setHoraInicio(LocalTime.of(8 + i % 10, 0));
+            reserva.setHoraFim(LocalTime.of(9 + i % 10, 0));
+            return reserva;
+        });
+        comunicados = gerar(i -> {
+            Comunicados comunicado = new Comunicados();
+            comunicado.setId((long) i);
+            comunicado.setTitulo("Comunicado " + i);
+            comunicado.setMensagem("Manutenção programada da caixa d'água no bloco " + i % 10);
+            comunicado.setCondominio(condominio);
+            return comunicado;
+        });
+        ocorrencias = gerar(i -> {
+            Ocorrencias ocorrencia = new Ocorrencias();
+            ocorrencia.setId((long) i);
+            ocorrencia.setTitulo("Ocorrência " + i);
+            ocorrencia.setDescricao("Barulho após as 22h");
+            ocorrencia.setTipo(Ocorrencias.TipoOcorrencia.values()[i % Ocorrencias.TipoOcorrencia.values().length]);
+            ocorrencia.setDataCriacao(LocalDateTime.of(2026, 1, 1, 10, 0).plusHours(i));
+            ocorrencia.setUsuario(usuarios.get(i));
+            ocorrencia.setArea(i % 2 == 0 ? areas.get(i) : null);
+            return ocorrencia;
+        });
+        sessoes = gerar(i -> {
+            SessaoVotacao sessao = new SessaoVotacao();
+            sessao.setId((long) i);
+            sessao.setProposta("Proposta " + i);
+            sessao.setDescricao("Pintura da fachada");
+            sessao.setDataInicio(LocalDate.of(2026, 1, 1));
+            sessao.setDataFim(LocalDate.of(2026, 1, 15));
+            sessao.setCondominio(condominio);
+            return sessao;
+        });
+    }
+
+    @Benchmark
+    public List<UsuarioDTO> usuarios() {
+        return usuarios.stream().map(usuarioService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public List<ReservasDTO> reservas() {
+        return reservas.stream().map(reservasService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public List<ComunicadoDTO> comunicados() {
+        return comunicados.stream().map(comunicadoService::converterParaDTO).toList();
+    }
+
+    @Benchmark
+    public List<AreasComunsDTO> areasComuns() {
+        return areas.stream().map(areasComunsService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public List<OcorrenciasDTO> ocorrencias() {
+        return ocorrencias.stream().map(ocorrenciasService::converterParaDTO).toList();
+    }
+
+    @Benchmark
+    public List<SessaoVotacaoDTO> sessoes() {
+        return sessoes.stream().map(sessaoVotacaoService::convertToDTO).toList();
+    }
+
+    private <T> List<T> gerar(IntFunction<T> fabrica) {
+        List<T> lista = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            lista.add(fabrica.apply(i));
+        }
+        return lista;
+    }
+}
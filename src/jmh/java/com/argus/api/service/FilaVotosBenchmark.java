@@ -0,0 +1,167 @@
+package com.argus.api.service;
+
+import com.argus.api.ApiApplication;
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.SessaoVotacaoRepository;
+import com.argus.api.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão sustentada da ingestão assíncrona de votos, de ponta a ponta: {@code produtores} threads enfileiram
+ * {@link #VOTOS} votos (conferência em memória, diário com fsync em grupo) enquanto a tarefa agendada descarrega a
+ * fila, e a invocação só termina quando todos estão gravados. O resultado é em votos/s; InsercaoLoteBenchmark
+ * mede só a gravação do lote. H2 em modo MySQL com o schema do Flyway e o diário num diretório temporário.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(FilaVotosBenchmark.VOTOS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilaVotosBenchmark {
+
+    static final int VOTOS = 2_000;
+
+    @Param({"1", "16"})
+    public int produtores;
+
+    private ConfigurableApplicationContext contexto;
+    private FilaVotos filaVotos;
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+    private JdbcTemplate jdbcTemplate;
+    private Counter gravados;
+    private ExecutorService executor;
+    private Path pasta;
+    private Condominio condominio;
+    private List<Usuarios> moradores;
+    private SessaoVotacao sessao;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        pasta = Files.createTempDirectory("fila-votos");
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:fila-votos-" + produtores + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--api.votacao.ingestao.assincrona=true",
+                        "--api.votacao.ingestao.diario=" + pasta.resolve("votos.diario"),
+                        // Descarga frequente, para medir o ritmo que o pipeline sustenta e não a espera do agendador
+                        "--api.votacao.ingestao.intervalo-ms=5",
+                        "--api.notificacoes.despacho.intervalo-ms=3600000",
+                        "--api.votacao.encerramento.intervalo-ms=3600000",
+                        "--api.votacao.reconciliacao.intervalo-ms=3600000",
+                        "--logging.level.root=WARN");
+        filaVotos = contexto.getBean(FilaVotos.class);
+        sessaoVotacaoRepository = contexto.getBean(SessaoVotacaoRepository.class);
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        gravados = contexto.getBean(MeterRegistry.class).get("argus.votos.gravados").counter();
+        executor = Executors.newFixedThreadPool(produtores);
+
+        condominio = new Condominio();
+        condominio.setNome("Residencial Benchmark");
+        condominio.setEndereco("Rua das Medidas, 100");
+        contexto.getBean(CondominioRepository.class).save(condominio);
+
+        moradores = new ArrayList<>(VOTOS);
+        for (int i = 0; i < VOTOS; i++) {
+            Usuarios usuario = new Usuarios();
+            usuario.setNome("Morador " + i);
+            usuario.setCpf(String.valueOf(i));
+            usuario.setSenha("senha");
+            usuario.setTelefone("11999990000");
+            usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            usuario.setCondominio(condominio);
+            moradores.add(usuario);
+        }
+        contexto.getBean(UsuarioRepository.class).saveAll(moradores);
+    }
+
+    // Cada morador só vota uma vez por sessão, então cada chamada usa uma sessão nova
+    @Setup(Level.Invocation)
+    public void novaSessao() {
+        sessao = new SessaoVotacao();
+        sessao.setProposta("Proposta");
+        sessao.setDescricao("Benchmark");
+        sessao.setDataInicio(LocalDate.now());
+        sessao.setDataFim(LocalDate.now().plusDays(1));
+        sessao.setCondominio(condominio);
+        sessaoVotacaoRepository.save(sessao);
+    }
+
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        jdbcTemplate.update("DELETE FROM voto");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws Exception {
+        executor.shutdown();
+        contexto.close();
+        try (var arquivos = Files.list(pasta)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.delete(arquivo);
+            }
+        }
+        Files.delete(pasta);
+    }
+
+    @Benchmark
+    public double votos() throws Exception {
+        double alvo = gravados.count() + VOTOS;
+        Long sessaoId = sessao.getId();
+        List<Future<?>> envios = new ArrayList<>(produtores);
+        for (int p = 0; p < produtores; p++) {
+            int produtor = p;
+            envios.add(executor.submit(() -> {
+                for (int i = produtor; i < VOTOS; i += produtores) {
+                    filaVotos.enfileirar(sessaoId, moradores.get(i).getId(), null, i % 2 == 0);
+                }
+            }));
+        }
+        for (Future<?> envio : envios) {
+            envio.get();
+        }
+        while (gravados.count() < alvo) {
+            Thread.onSpinWait();
+        }
+        return gravados.count();
+    }
+}
@@ -2,9 +2,10 @@ package com.argus.api.controller;
 
 
 
-import java.util.List;
+import java.time.LocalDate;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,9 +15,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.argus.api.dto.AreasComunsDTO;
+import com.argus.api.dto.DisponibilidadeDTO;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.service.AreasComunsService;
 
 @RestController
@@ -33,11 +37,20 @@ public class AreasComunsController {
     }
 
     @GetMapping
-    public ResponseEntity<List<AreasComunsDTO>> listarTodasAsAreasComuns() {
-        List<AreasComunsDTO> areasComuns = areasComunsService.listarTodasAsAreasComuns();
+    public ResponseEntity<PaginaDTO<AreasComunsDTO>> listarTodasAsAreasComuns(@RequestParam(required = false) Long after,
+                                                                              @RequestParam(required = false) Integer limit) {
+        PaginaDTO<AreasComunsDTO> areasComuns = areasComunsService.listarTodasAsAreasComuns(after, limit);
         return ResponseEntity.ok(areasComuns);
     }
 
+    @GetMapping("/{id}/disponibilidade")
+    public ResponseEntity<DisponibilidadeDTO> consultarDisponibilidade(@PathVariable Long id,
+                                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+                                                                       @RequestParam(required = false) Integer granularidade) {
+        return ResponseEntity.ok(areasComunsService.consultarDisponibilidade(id, de, ate, granularidade));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AreasComunsDTO> atualizarAreaComum(@PathVariable Long id, @RequestBody AreasComunsDTO areasComunsDTO) {
         AreasComunsDTO areaAtualizada = areasComunsService.atualizarAreaComum(id, areasComunsDTO);
@@ -4,14 +4,18 @@ import com.argus.api.domain.model.Usuarios;
 import com.argus.api.dto.AuthenticationDTO;
 import com.argus.api.dto.LoginResponseDTO;
 import com.argus.api.dto.UsuarioDTO;
+import com.argus.api.infra.security.RevogacaoTokens;
 import com.argus.api.infra.security.TokenService;
+import com.argus.api.infra.security.UsuarioAutenticado;
 import com.argus.api.repository.UsuarioRepository;
 import com.argus.api.service.UsuarioService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -34,7 +38,11 @@ public class AuthenticationController {
     @Autowired
     TokenService tokenService;
 
+    @Autowired
+    RevogacaoTokens revogacaoTokens;
+
     @PostMapping("/login")
+    @Timed("argus.servico")
     public ResponseEntity login(@RequestBody @Valid AuthenticationDTO data) {
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.cpf(), data.password());
         var auth = this.authenticationManager.authenticate(usernamePassword);
@@ -44,6 +52,13 @@ public class AuthenticationController {
         return ResponseEntity.ok(new LoginResponseDTO(token));
     }
 
+    // Invalida todos os tokens do usuário emitidos até agora
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+        revogacaoTokens.revogar(usuario.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/cadastro")
     public ResponseEntity<UsuarioDTO> createUser(@RequestBody @Validated Usuarios usuarios) {
         UsuarioDTO usuarioDTO = usuarioService.createUser(usuarios);
@@ -1,6 +1,7 @@
 package com.argus.api.controller;
 
 import com.argus.api.dto.ComunicadoDTO;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.service.ComunicadoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -8,7 +9,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,8 +29,9 @@ public class ComunicadoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ComunicadoDTO>> listarComunicados() {
-        List<ComunicadoDTO> comunicados = comunicadoService.listarComunicados();
+    public ResponseEntity<PaginaDTO<ComunicadoDTO>> listarComunicados(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        PaginaDTO<ComunicadoDTO> comunicados = comunicadoService.listarComunicados(after, limit);
         return ResponseEntity.ok(comunicados);
     }
 
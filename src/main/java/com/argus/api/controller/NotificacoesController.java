@@ -1,20 +1,25 @@
 package com.argus.api.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.argus.api.dto.NaoLidasDTO;
 import com.argus.api.dto.NotificacaoDTO;
+import com.argus.api.dto.PaginaDTO;
+import com.argus.api.infra.security.UsuarioAutenticado;
 import com.argus.api.service.NotificacoesService;
-
-import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import com.argus.api.service.TransmissaoNotificacoes;
 
 @RestController
 @RequestMapping("/notificacoes")
@@ -23,15 +28,44 @@ public class NotificacoesController {
 	@Autowired
 	private NotificacoesService notificacoesService;
 
+	@Autowired
+	private TransmissaoNotificacoes transmissaoNotificacoes;
+
 
 	@GetMapping
-	public List<NotificacaoDTO> buscarUltimasNotificacoes() {
-		return notificacoesService.buscarUltimasNotificacoes();
+	public ResponseEntity<PaginaDTO<NotificacaoDTO>> listarCaixaDeEntrada(@AuthenticationPrincipal UsuarioAutenticado usuario,
+																		 @RequestParam(required = false) Long after,
+																		 @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(notificacoesService.listarCaixaDeEntrada(usuario.getId(), after, limit));
+	}
+
+	// O EventSource do navegador não envia cabeçalhos: o token pode vir em ?token= (ver SecurityFilter)
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter acompanhar(@AuthenticationPrincipal UsuarioAutenticado usuario,
+								 @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+		return transmissaoNotificacoes.assinar(usuario, ultimoEventoId);
+	}
+
+	@GetMapping("/nao-lidas")
+	public ResponseEntity<NaoLidasDTO> contarNaoLidas(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+		return ResponseEntity.ok(new NaoLidasDTO(notificacoesService.contarNaoLidas(usuario.getId())));
+	}
+
+	@PutMapping("/{id}/lida")
+	public ResponseEntity<Void> marcarComoLida(@AuthenticationPrincipal UsuarioAutenticado usuario, @PathVariable Long id) {
+		notificacoesService.marcarComoLida(usuario.getId(), id);
+		return ResponseEntity.noContent().build();
+	}
+
+	@PutMapping("/lidas")
+	public ResponseEntity<Void> marcarTodasComoLidas(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+		notificacoesService.marcarTodasComoLidas(usuario.getId());
+		return ResponseEntity.noContent().build();
 	}
 
 	@DeleteMapping("/{id}")
-	public ResponseEntity<Void> deletarNotificacao(@PathVariable Long id) {
-		if (notificacoesService.deletarNotificacao(id)) {
+	public ResponseEntity<Void> deletarNotificacao(@AuthenticationPrincipal UsuarioAutenticado usuario, @PathVariable Long id) {
+		if (notificacoesService.deletarNotificacao(usuario.getId(), id)) {
 			return ResponseEntity.noContent().build();
 		}
 		return ResponseEntity.notFound().build();
@@ -1,19 +1,25 @@
 package com.argus.api.controller;
 
 import com.argus.api.dto.OcorrenciasDTO;
+import com.argus.api.dto.PaginaDTO;
+import com.argus.api.infra.exportacao.EscritorExportacao;
 import com.argus.api.service.OcorrenciasService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/ocorrencias")
 @RequiredArgsConstructor
 public class OcorrenciasController {
     private final OcorrenciasService ocorrenciasService;
+    private final EscritorExportacao escritorExportacao;
 
     @PostMapping
     public ResponseEntity<OcorrenciasDTO> criarOcorrencia(@RequestBody OcorrenciasDTO ocorrenciaDTO) {
@@ -22,11 +28,22 @@ public class OcorrenciasController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OcorrenciasDTO>> listarOcorrencias() {
-        List<OcorrenciasDTO> ocorrencias = ocorrenciasService.listarTodasOcorrencias();
+    public ResponseEntity<PaginaDTO<OcorrenciasDTO>> listarOcorrencias(@RequestParam(required = false) Long after,
+                                                                       @RequestParam(required = false) Integer limit) {
+        PaginaDTO<OcorrenciasDTO> ocorrencias = ocorrenciasService.listarTodasOcorrencias(after, limit);
         return ResponseEntity.ok(ocorrencias);
     }
 
+    @GetMapping("/export")
+    public void exportarOcorrencias(@RequestParam(defaultValue = "ndjson") String formato,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                    HttpServletResponse response) throws IOException {
+        EscritorExportacao.Formato f = EscritorExportacao.Formato.de(formato);
+        try (OutputStream saida = escritorExportacao.abrir(response, "ocorrencias", f, acceptEncoding)) {
+            ocorrenciasService.exportarOcorrencias(f, saida);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OcorrenciasDTO> buscarOcorrencia(@PathVariable Long id) {
         OcorrenciasDTO ocorrencia = ocorrenciasService.buscarOcorrenciaPorId(id);
@@ -1,13 +1,18 @@
 package com.argus.api.controller;
 
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.dto.ReservasDTO;
+import com.argus.api.infra.exportacao.EscritorExportacao;
 import com.argus.api.service.ReservasService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/reservas")
@@ -16,6 +21,9 @@ public class ReservasController {
     @Autowired
     private ReservasService reservasService;
 
+    @Autowired
+    private EscritorExportacao escritorExportacao;
+
     @PostMapping
     public ResponseEntity<?> reservarArea(@RequestBody ReservasDTO reservasDTO) {
         try {
@@ -27,11 +35,22 @@ public class ReservasController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ReservasDTO>> listarTodasReservas() {
-        List<ReservasDTO> reservas = reservasService.listarTodasReservas();
+    public ResponseEntity<PaginaDTO<ReservasDTO>> listarTodasReservas(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        PaginaDTO<ReservasDTO> reservas = reservasService.listarTodasReservas(after, limit);
         return new ResponseEntity<>(reservas, HttpStatus.OK);
     }
 
+    @GetMapping("/export")
+    public void exportarReservas(@RequestParam(defaultValue = "ndjson") String formato,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                 HttpServletResponse response) throws IOException {
+        EscritorExportacao.Formato f = EscritorExportacao.Formato.de(formato);
+        try (OutputStream saida = escritorExportacao.abrir(response, "reservas", f, acceptEncoding)) {
+            reservasService.exportarReservas(f, saida);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> excluirReserva(@PathVariable Long id) {
         try {
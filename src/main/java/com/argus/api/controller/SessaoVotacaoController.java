@@ -1,13 +1,15 @@
 package com.argus.api.controller;
 
+import com.argus.api.dto.PaginaDTO;
+import com.argus.api.dto.ResultadoVotacaoDTO;
 import com.argus.api.dto.SessaoVotacaoDTO;
 import com.argus.api.service.SessaoVotacaoService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/sessaoVotacao")
@@ -26,8 +28,9 @@ public class SessaoVotacaoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SessaoVotacaoDTO>> listarTodasSessoes() {
-        List<SessaoVotacaoDTO> sessoes = sessaoVotacaoService.listarTodasSessoes();
+    public ResponseEntity<PaginaDTO<SessaoVotacaoDTO>> listarTodasSessoes(@RequestParam(required = false) Long after,
+                                                                          @RequestParam(required = false) Integer limit) {
+        PaginaDTO<SessaoVotacaoDTO> sessoes = sessaoVotacaoService.listarTodasSessoes(after, limit);
         return ResponseEntity.ok(sessoes);
     }
     
@@ -37,6 +40,16 @@ public class SessaoVotacaoController {
         return ResponseEntity.ok(sessao);
     }
 
+    @GetMapping("/{id}/resultado")
+    public ResponseEntity<ResultadoVotacaoDTO> buscarResultado(@PathVariable Long id) {
+        return ResponseEntity.ok(sessaoVotacaoService.buscarResultado(id));
+    }
+
+    @GetMapping(path = "/{id}/resultado/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharResultado(@PathVariable Long id) {
+        return sessaoVotacaoService.acompanharResultado(id);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deletarSessaoVotacao(@PathVariable Long id) {
         sessaoVotacaoService.deletarSessao(id);
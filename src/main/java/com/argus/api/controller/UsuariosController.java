@@ -1,14 +1,19 @@
 package com.argus.api.controller;
 
 import com.argus.api.domain.model.Usuarios;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.dto.UsuarioDTO;
+import com.argus.api.infra.exportacao.EscritorExportacao;
 import com.argus.api.service.UsuarioService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/usuarios")
@@ -16,13 +21,27 @@ public class UsuariosController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private EscritorExportacao escritorExportacao;
+
 
     @GetMapping
-    public ResponseEntity<List<UsuarioDTO>> getUsers() {
-        List<UsuarioDTO> usuarios = usuarioService.getAllUsers();
+    public ResponseEntity<PaginaDTO<UsuarioDTO>> getUsers(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit) {
+        PaginaDTO<UsuarioDTO> usuarios = usuarioService.getAllUsers(after, limit);
         return ResponseEntity.ok(usuarios);
     }
 
+    @GetMapping("/export")
+    public void exportarUsuarios(@RequestParam(defaultValue = "ndjson") String formato,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                 HttpServletResponse response) throws IOException {
+        EscritorExportacao.Formato f = EscritorExportacao.Formato.de(formato);
+        try (OutputStream saida = escritorExportacao.abrir(response, "usuarios", f, acceptEncoding)) {
+            usuarioService.exportarUsuarios(f, saida);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UsuarioDTO> findUserById(@PathVariable Long id) {
         return usuarioService.findUserById(id)
@@ -1,24 +1,32 @@
 package com.argus.api.controller;
 
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.dto.VotoDTO;
 import com.argus.api.domain.model.Voto;
+import com.argus.api.infra.exportacao.EscritorExportacao;
 import com.argus.api.service.VotoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.util.List;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/votos")
 public class VotoController {
 
     private final VotoService votoService;
+    private final EscritorExportacao escritorExportacao;
 
     @Autowired
-    public VotoController(VotoService votoService) {
+    public VotoController(VotoService votoService, EscritorExportacao escritorExportacao) {
         this.votoService = votoService;
+        this.escritorExportacao = escritorExportacao;
     }
 
     @PostMapping
@@ -30,23 +38,37 @@ public class VotoController {
 
     // Endpoint para listar um voto pelo seu id
     @GetMapping("/{Id}")
-    public ResponseEntity<List<Voto>> listarVotos(@PathVariable Long sessaoVotacaoId) {
+    public ResponseEntity<PaginaDTO<Voto>> listarVotos(@PathVariable("Id") Long sessaoVotacaoId,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit) {
         // Chama o serviço para listar os votos de uma sessão específica
-        List<Voto> votos = votoService.listarVotos(sessaoVotacaoId);
+        PaginaDTO<Voto> votos = votoService.listarVotos(sessaoVotacaoId, after, limit);
         return ResponseEntity.ok(votos);
     }
 
     // Endpoint para listar todos os votos
     @GetMapping
-    public ResponseEntity<List<Voto>> listarTodosVotos() {
+    public ResponseEntity<PaginaDTO<Voto>> listarTodosVotos(@RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer limit) {
         // Chama o serviço para listar todos os votos
-        List<Voto> votos = votoService.listarTodosVotos();
+        PaginaDTO<Voto> votos = votoService.listarTodosVotos(after, limit);
         return ResponseEntity.ok(votos);
     }
 
+    // Endpoint para exportar todos os votos, sem identificar quem votou
+    @GetMapping("/export")
+    public void exportarVotos(@RequestParam(defaultValue = "ndjson") String formato,
+                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                              HttpServletResponse response) throws IOException {
+        EscritorExportacao.Formato f = EscritorExportacao.Formato.de(formato);
+        try (OutputStream saida = escritorExportacao.abrir(response, "votos", f, acceptEncoding)) {
+            votoService.exportarVotos(f, saida);
+        }
+    }
+
     // Endpoint para deletar um voto pelo ID
     @DeleteMapping("/{Id}")
-    public ResponseEntity<String> deletarVoto(@PathVariable Long votoId) {
+    public ResponseEntity<String> deletarVoto(@PathVariable("Id") Long votoId) {
         // Chama o serviço para deletar o voto
         String resposta = votoService.deletarVoto(votoId);
         return ResponseEntity.ok(resposta);
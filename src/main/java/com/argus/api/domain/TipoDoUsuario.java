@@ -1,8 +1,17 @@
 package com.argus.api.domain;
 
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum TipoDoUsuario {
     ADMIN,
     SINDICO,
     SUBSINDICO,
-    MORADOR
+    MORADOR;
+
+    public List<SimpleGrantedAuthority> getAuthorities() {
+        if (this == ADMIN) return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_SINDICO"), new SimpleGrantedAuthority("ROLE_SUBSINDICO"));
+        else return List.of(new SimpleGrantedAuthority("ROLE_MORADOR"));
+    }
 }
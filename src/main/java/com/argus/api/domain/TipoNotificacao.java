@@ -0,0 +1,7 @@
+package com.argus.api.domain;
+
+// Origem da notificação; também define a política de retenção de cada tipo
+public enum TipoNotificacao {
+    COMUNICADO,
+    RESERVA
+}
@@ -0,0 +1,9 @@
+package com.argus.api.domain.event;
+
+import java.util.List;
+
+// Publicado na criação, edição ou exclusão de uma área comum, com o condomínio e os nomes afetados (antigo e novo)
+public record AreaComumAlteradaEvent(
+        Long condominioId,
+        List<String> nomes
+) { }
@@ -0,0 +1,8 @@
+package com.argus.api.domain.event;
+
+import java.util.List;
+
+// Publicado na criação, edição ou exclusão de um condomínio, com os nomes afetados (antigo e novo)
+public record CondominioAlteradoEvent(
+        List<String> nomes
+) { }
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 
+@Filter(name = Condominio.FILTRO, condition = "{alias}.condominio_id = :condominioId", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "areas_comuns")
 @Data
@@ -14,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class AreasComuns {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "areas_comuns_seq")
+    @SequenceGenerator(name = "areas_comuns_seq", sequenceName = "areas_comuns_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -23,7 +26,7 @@ public class AreasComuns {
     @Column(nullable = false)
     private Boolean disponivel = false;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "condominio_id", nullable = false)
     private Condominio condominio;
 
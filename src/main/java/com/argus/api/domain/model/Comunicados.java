@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 
+@Filter(name = Condominio.FILTRO, condition = "{alias}.condominio_id = :condominioId", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "comunicados")
 @Data
@@ -12,18 +14,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Comunicados {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comunicados_seq")
+    @SequenceGenerator(name = "comunicados_seq", sequenceName = "comunicados_seq", allocationSize = 50)
     private Long id;
 
     private String titulo; 
 
     private String mensagem;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuarios usuarios;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "condominio_id", nullable = false)
     private Condominio condominio;
 }
@@ -1,22 +1,35 @@
 package com.argus.api.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
+// Filtro de isolamento por condomínio, habilitado por requisição em FiltroCondominioAspect; cada entidade declara
+// a sua condição com @Filter(name = Condominio.FILTRO)
+@FilterDef(name = Condominio.FILTRO, parameters = @ParamDef(name = Condominio.PARAMETRO_FILTRO, type = Long.class))
+// Serializada diretamente nas respostas: ignora os campos internos do proxy lazy do Hibernate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "condominios")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Condominio {
+
+    public static final String FILTRO = "condominio";
+    public static final String PARAMETRO_FILTRO = "condominioId";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "condominios_seq")
+    @SequenceGenerator(name = "condominios_seq", sequenceName = "condominios_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 100, nullable = false, unique = true)
@@ -3,19 +3,25 @@ package com.argus.api.domain.model;
 import java.time.LocalDate;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@Filter(name = Condominio.FILTRO, condition = "({alias}.id_comunicados IN (SELECT c.id FROM comunicados c WHERE c.condominio_id = :condominioId) "
+        + "OR {alias}.id_reserva IN (SELECT r.id FROM reservas r JOIN areas_comuns a ON a.id = r.areas_comuns_id "
+        + "WHERE a.condominio_id = :condominioId))", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "notificacoes")
 @Data
@@ -24,7 +30,10 @@ import lombok.NoArgsConstructor;
 public class Notificacoes {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notificacoes_seq")
+    // Sem blocos por instância: o push e a reconexão por Last-Event-ID leem "id maior que o último visto",
+    // o que só vale se os ids seguirem a ordem de criação entre instâncias
+    @SequenceGenerator(name = "notificacoes_seq", sequenceName = "notificacoes_seq", allocationSize = 1)
     private Long id;
     
     private String titulo;
@@ -35,15 +44,15 @@ public class Notificacoes {
     @Column(updatable = false)
     private LocalDate data; 
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_comunicados")  
     private Comunicados comunicado;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuarios") 
     private Usuarios usuario;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_reserva")  
     private Reservas reserva;
 }
@@ -4,16 +4,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Filter(name = Condominio.FILTRO, condition = "{alias}.id_usuario IN (SELECT u.id FROM usuarios u WHERE u.condominio_id = :condominioId)", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "ocorrencias")
 public class Ocorrencias {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ocorrencias_seq")
+    @SequenceGenerator(name = "ocorrencias_seq", sequenceName = "ocorrencias_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "titulo", length = 100, nullable = false)
@@ -37,11 +40,11 @@ public class Ocorrencias {
     @Column(name = "data_criacao", nullable = false)
     private LocalDateTime dataCriacao;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario", nullable = false)
     private Usuarios usuario;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_area")
     private AreasComuns area;
 
@@ -5,16 +5,20 @@ import java.time.LocalTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 
+@Filter(name = Condominio.FILTRO, condition = "{alias}.areas_comuns_id IN (SELECT a.id FROM areas_comuns a WHERE a.condominio_id = :condominioId)", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "reservas")
 @Data
@@ -22,10 +26,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Reservas {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservas_seq")
+    @SequenceGenerator(name = "reservas_seq", sequenceName = "reservas_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "areas_comuns_id", nullable = false)
     private AreasComuns areasComuns;
 
@@ -0,0 +1,48 @@
+package com.argus.api.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado congelado no encerramento da sessão; a linha nunca é atualizada
+@Immutable
+@Filter(name = Condominio.FILTRO, condition = "{alias}.sessao_votacao_id IN (SELECT s.id FROM sessao_votacao s WHERE s.condominio_id = :condominioId)", deduceAliasInjectionPoints = false)
+@Entity
+@Table(name = "resultado_votacao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoVotacao {
+
+    @Id
+    @Column(name = "sessao_votacao_id")
+    private Long sessaoVotacaoId;
+
+    @Column(nullable = false)
+    private Long sim;
+
+    @Column(nullable = false)
+    private Long nao;
+
+    @Column(nullable = false)
+    private Long abstencoes;
+
+    @Column(nullable = false)
+    private Long elegiveis;
+
+    // Percentual de elegíveis que votaram; nulo quando o condomínio não tem moradores cadastrados
+    private BigDecimal participacao;
+
+    @Column(name = "encerrada_em", nullable = false)
+    private LocalDateTime encerradaEm;
+}
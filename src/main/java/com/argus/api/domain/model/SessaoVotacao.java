@@ -1,14 +1,19 @@
 package com.argus.api.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Serializada diretamente nas respostas: ignora os campos internos do proxy lazy do Hibernate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Filter(name = Condominio.FILTRO, condition = "{alias}.condominio_id = :condominioId", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "SessaoVotacao")
 @Data
@@ -17,7 +22,8 @@ import java.util.List;
 public class SessaoVotacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sessao_votacao_seq")
+    @SequenceGenerator(name = "sessao_votacao_seq", sequenceName = "sessao_votacao_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,8 +38,12 @@ public class SessaoVotacao {
     @Column(name = "data_fim", nullable = false)
     private LocalDate dataFim;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "condominio_id")
     private Condominio condominio;
+
+    // Marcada pelo encerramento agendado depois de dataFim; a partir daí não aceita votos
+    @Column(nullable = false)
+    private boolean encerrada;
     
 }
@@ -1,28 +1,31 @@
 package com.argus.api.domain.model;
 
 import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.infra.security.UsuarioAutenticado;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.List;
 
+@Filter(name = Condominio.FILTRO, condition = "{alias}.condominio_id = :condominioId", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "usuarios")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Usuarios implements UserDetails {
+public class Usuarios implements UserDetails, UsuarioAutenticado {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 50, nullable = false)
@@ -47,7 +50,7 @@ public class Usuarios implements UserDetails {
     @Column(nullable = true)
     private Integer apartamento;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "condominio_id", nullable = true)
     private Condominio condominio;
 
@@ -58,10 +61,19 @@ public class Usuarios implements UserDetails {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Tokens emitidos antes deste instante são rejeitados (logout, troca de perfil ou senha)
+    @JsonIgnore
+    private LocalDateTime tokensValidosDesde;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (this.tipoDoUsuario == TipoDoUsuario.ADMIN ) return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_SINDICO"), new SimpleGrantedAuthority("ROLE_SUBSINDICO"));
-        else return List.of(new SimpleGrantedAuthority("ROLE_MORADOR"));
+        return this.tipoDoUsuario.getAuthorities();
+    }
+
+    @Override
+    @JsonIgnore
+    public Long getCondominioId() {
+        return condominio != null ? condominio.getId() : null;
     }
 
 
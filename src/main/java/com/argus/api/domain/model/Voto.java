@@ -4,16 +4,20 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 
+@Filter(name = Condominio.FILTRO, condition = "{alias}.sessao_votacao_id IN (SELECT s.id FROM sessao_votacao s WHERE s.condominio_id = :condominioId)", deduceAliasInjectionPoints = false)
 @Entity
 @Table(name = "voto")
 @Data
@@ -22,17 +26,18 @@ import lombok.NoArgsConstructor;
 public class Voto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "voto_seq")
+    @SequenceGenerator(name = "voto_seq", sequenceName = "voto_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Boolean voto;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sessao_votacao_id", nullable = false)
     private SessaoVotacao sessaoVotacao;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     @JsonIgnore 
     private Usuarios usuarios;
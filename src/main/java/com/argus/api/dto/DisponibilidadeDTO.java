@@ -0,0 +1,32 @@
+package com.argus.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+// Horários consecutivos com a mesma situação são agrupados numa única faixa
+public record DisponibilidadeDTO(
+        Long areaId,
+        String areaNome,
+        Boolean disponivel,
+        int granularidade,
+        List<Dia> dias
+) {
+    public record Dia(
+            @JsonFormat(pattern = "dd/MM/yyyy")
+            LocalDate data,
+            List<Faixa> faixas
+    ) { }
+
+    public record Faixa(
+            @JsonFormat(pattern = "HH:mm")
+            LocalTime inicio,
+
+            @JsonFormat(pattern = "HH:mm")
+            LocalTime fim,
+
+            boolean livre
+    ) { }
+}
@@ -0,0 +1,5 @@
+package com.argus.api.dto;
+
+public record NaoLidasDTO(
+        long naoLidas
+) { }
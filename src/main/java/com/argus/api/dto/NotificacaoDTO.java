@@ -5,7 +5,12 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 public record NotificacaoDTO(
+        Long id,
         String titulo,
-        String corpoDeTexto
-        
+        String corpoDeTexto,
+
+        @JsonFormat(pattern = "dd/MM/yyyy")
+        LocalDate data,
+
+        Boolean lida
 ) {}
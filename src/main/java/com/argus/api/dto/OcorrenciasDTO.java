@@ -1,10 +1,15 @@
 package com.argus.api.dto;
 
 import com.argus.api.domain.model.Ocorrencias;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+// Construtor completo usado pela projeção da exportação
+@AllArgsConstructor
 public class OcorrenciasDTO {
     private Long id;
     private String titulo;
@@ -0,0 +1,34 @@
+package com.argus.api.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Resposta das listagens: {"itens": [...], "proximoCursor": <id ou null>}, no lugar do array puro de antes.
+// As páginas seguem sempre a ordem do id; o cliente repassa proximoCursor no parâmetro after até ele vir nulo
+public record PaginaDTO<T>(
+        List<T> itens,
+        Long proximoCursor
+) {
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    public static int limiteEfetivo(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
+    }
+
+    public static long cursorEfetivo(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    // As consultas buscam limite + 1 registros: o excedente só indica que existe uma próxima página
+    public static <T> PaginaDTO<T> of(List<T> registros, int limite, Function<T, Long> cursor) {
+        if (registros.size() <= limite) {
+            return new PaginaDTO<>(registros, null);
+        }
+        List<T> pagina = registros.subList(0, limite);
+        return new PaginaDTO<>(pagina, cursor.apply(pagina.get(limite - 1)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.argus.api.dto;
+
+import java.math.BigDecimal;
+
+import com.argus.api.domain.model.ResultadoVotacao;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Abstenções, elegíveis e participação só existem depois que a sessão é encerrada
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResultadoVotacaoDTO(
+        Long sessaoId,
+        long sim,
+        long nao,
+        long total,
+        boolean encerrada,
+        Long abstencoes,
+        Long elegiveis,
+        BigDecimal participacao
+) {
+    public static ResultadoVotacaoDTO parcial(Long sessaoId, long sim, long nao) {
+        return new ResultadoVotacaoDTO(sessaoId, sim, nao, sim + nao, false, null, null, null);
+    }
+
+    public static ResultadoVotacaoDTO of(ResultadoVotacao resultado) {
+        return new ResultadoVotacaoDTO(resultado.getSessaoVotacaoId(), resultado.getSim(), resultado.getNao(),
+                resultado.getSim() + resultado.getNao(), true, resultado.getAbstencoes(), resultado.getElegiveis(),
+                resultado.getParticipacao());
+    }
+}
@@ -0,0 +1,8 @@
+package com.argus.api.dto;
+
+public record VotoExportacaoDTO(
+        Long id,
+        Long sessaoId,
+        String proposta,
+        Boolean voto
+) { }
@@ -0,0 +1,7 @@
+package com.argus.api.exception;
+
+public class HashingSaturadoException extends RuntimeException{
+    public HashingSaturadoException(String message) {
+        super(message);
+    }
+}
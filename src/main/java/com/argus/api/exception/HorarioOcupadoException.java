@@ -0,0 +1,8 @@
+package com.argus.api.exception;
+
+// Algum slot de 15 minutos da reserva já está na tabela reservas_slots
+public class HorarioOcupadoException extends RuntimeException{
+    public HorarioOcupadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
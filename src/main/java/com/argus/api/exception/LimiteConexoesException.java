@@ -0,0 +1,7 @@
+package com.argus.api.exception;
+
+public class LimiteConexoesException extends RuntimeException{
+    public LimiteConexoesException(String message) {
+        super(message);
+    }
+}
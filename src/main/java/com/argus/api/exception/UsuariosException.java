@@ -1,10 +1,14 @@
 package com.argus.api.exception;
 
 import com.argus.api.dto.ExecoesDTO;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -33,6 +37,46 @@ public class UsuariosException {
         return ResponseEntity.badRequest().body("Erro no formato dos dados.");
     }
 
+    @ExceptionHandler(HashingSaturadoException.class)
+    public ResponseEntity<ExecoesDTO> handleHashingSaturado(HashingSaturadoException ex) {
+        ExecoesDTO error = new ExecoesDTO(ex.getMessage(), "503");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    // O DaoAuthenticationProvider embrulha o que falha dentro do UserDetailsService; sem desembrulhar, o pool de
+    // hashing ou o banco saturados durante o login viram um 401 de credenciais inválidas
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public ResponseEntity<ExecoesDTO> handleAutenticacaoInterna(InternalAuthenticationServiceException ex) {
+        if (ex.getCause() instanceof HashingSaturadoException saturado) {
+            return handleHashingSaturado(saturado);
+        }
+        if (ex.getCause() instanceof DataAccessResourceFailureException
+                || ex.getCause() instanceof CannotCreateTransactionException) {
+            return handleBancoIndisponivel((RuntimeException) ex.getCause());
+        }
+        // Relançada, segue para o tratamento padrão do Spring Security
+        throw ex;
+    }
+
+    @ExceptionHandler(LimiteConexoesException.class)
+    public ResponseEntity<ExecoesDTO> handleLimiteConexoes(LimiteConexoesException ex) {
+        ExecoesDTO error = new ExecoesDTO(ex.getMessage(), "503");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(error);
+    }
+
+    // Pool de conexões esgotado (ou banco fora do ar) dentro do connection-timeout do Hikari
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ExecoesDTO> handleBancoIndisponivel(RuntimeException ex) {
+        ExecoesDTO error = new ExecoesDTO("Servidor ocupado, tente novamente em instantes.", "503");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity handleIllegalArgument(IllegalArgumentException ex) {
         return ResponseEntity.badRequest().body("Argumento inválido.");
@@ -0,0 +1,69 @@
+package com.argus.api.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfigurations {
+
+    // Usuários autenticados, indexados pelo CPF do token
+    public static final String PRINCIPAIS = "principais";
+
+    // Dados de referência resolvidos pelo nome nas rotas de escrita
+    public static final String CONDOMINIOS_POR_NOME = "condominiosPorNome";
+    public static final String AREAS_COMUNS_POR_NOME = "areasComunsPorNome";
+
+    // Quantidade de notificações não lidas por usuário; ajustada no fan-out e ao marcar como lida
+    public static final String NOTIFICACOES_NAO_LIDAS = "notificacoesNaoLidas";
+
+    @Value("${api.cache.principais.tamanho-maximo:10000}")
+    private long principaisTamanhoMaximo;
+
+    @Value("${api.cache.principais.ttl:5m}")
+    private Duration principaisTtl;
+
+    @Value("${api.cache.referencias.tamanho-maximo:0}")
+    private long referenciasTamanhoMaximo;
+
+    @Value("${api.cache.referencias.ttl:0}")
+    private Duration referenciasTtl;
+
+    @Value("${api.cache.nao-lidas.tamanho-maximo:100000}")
+    private long naoLidasTamanhoMaximo;
+
+    // O TTL limita por quanto tempo um contador ajustado em outra instância fica desatualizado
+    @Value("${api.cache.nao-lidas.ttl:10m}")
+    private Duration naoLidasTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PRINCIPAIS, construir(principaisTamanhoMaximo, principaisTtl));
+        cacheManager.registerCustomCache(CONDOMINIOS_POR_NOME, construir(referenciasTamanhoMaximo, referenciasTtl));
+        cacheManager.registerCustomCache(AREAS_COMUNS_POR_NOME, construir(referenciasTamanhoMaximo, referenciasTtl));
+        cacheManager.registerCustomCache(NOTIFICACOES_NAO_LIDAS, construir(naoLidasTamanhoMaximo, naoLidasTtl));
+        return cacheManager;
+    }
+
+    // Tamanho ou TTL zerados deixam o cache sem aquele limite
+    private static Cache<Object, Object> construir(long tamanhoMaximo, Duration ttl) {
+        // recordStats() alimenta as métricas cache.gets{result=hit|miss} do Actuator
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (tamanhoMaximo > 0) {
+            builder.maximumSize(tamanhoMaximo);
+        }
+        if (!ttl.isZero()) {
+            builder.expireAfterWrite(ttl);
+        }
+        return builder.build();
+    }
+}
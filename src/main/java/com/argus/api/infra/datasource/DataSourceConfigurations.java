@@ -0,0 +1,75 @@
+package com.argus.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A primária continua configurada por spring.datasource. Com api.datasource.replicas.urls preenchido, o
+ * DataSource da aplicação passa a rotear as transações somente leitura para as réplicas; vazio, é a própria
+ * primária, como antes.
+ */
+@Configuration
+public class DataSourceConfigurations {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    // Réplicas separadas por vírgula; usuário e senha são os da primária quando não informados
+    @Bean
+    @ConditionalOnExpression("!'${api.datasource.replicas.urls:}'.isBlank()")
+    public ReplicasLeitura replicasLeitura(DataSourceProperties properties, MeterRegistry meterRegistry,
+                                           @Value("${api.datasource.replicas.urls}") String urls,
+                                           @Value("${api.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                           @Value("${api.datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                           @Value("${api.datasource.replicas.pool-maximo:10}") int poolMaximo,
+                                           @Value("${api.datasource.replicas.atraso-maximo:5s}") Duration atrasoMaximo) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] enderecos = urls.split(",");
+        for (int i = 0; i < enderecos.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(enderecos[i].trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolMaximo);
+            replica.setReadOnly(true);
+            // Réplica lenta para entregar conexão cai logo para a primária
+            replica.setConnectionTimeout(Duration.ofSeconds(2).toMillis());
+            // Os pools das réplicas não são beans, então as métricas hikaricp.* são ligadas aqui
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicasLeitura(replicas, atrasoMaximo, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, ObjectProvider<ReplicasLeitura> replicasLeitura) {
+        ReplicasLeitura replicas = replicasLeitura.getIfAvailable();
+        if (replicas == null) {
+            return dataSourcePrimario;
+        }
+        return new LazyConnectionDataSourceProxy(new RoteamentoDataSource(dataSourcePrimario, replicas));
+    }
+}
@@ -0,0 +1,140 @@
+package com.argus.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas de leitura e o estado de cada uma. Uma verificação periódica mede se a réplica responde e quanto
+ * está atrasada em relação à primária; só as que respondem e estão dentro do atraso máximo recebem leituras,
+ * em rodízio. Sem nenhuma disponível, as leituras voltam para a primária.
+ */
+public class ReplicasLeitura implements DisposableBean {
+
+    private static final int TIMEOUT_VALIDACAO_SEGUNDOS = 2;
+
+    // Atraso usado para réplica fora do ar ou com a replicação parada
+    static final long INDISPONIVEL = -1;
+
+    // MySQL 8.0.22+ e versões anteriores; em bancos sem esses comandos a instância é tratada como sem atraso
+    private static final String[][] CONSULTAS_ATRASO = {
+            {"SHOW REPLICA STATUS", "Seconds_Behind_Source"},
+            {"SHOW SLAVE STATUS", "Seconds_Behind_Master"}
+    };
+
+    private static final class Estado {
+        final DataSource dataSource;
+        volatile long atrasoSegundos;
+        volatile boolean disponivel = true;
+
+        Estado(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final Map<String, Estado> estados = new LinkedHashMap<>();
+    private final List<String> nomes;
+    private final long atrasoMaximoSegundos;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Counter leiturasNaPrimaria;
+
+    public ReplicasLeitura(Map<String, DataSource> replicas, Duration atrasoMaximo, MeterRegistry meterRegistry) {
+        replicas.forEach((nome, dataSource) -> estados.put(nome, new Estado(dataSource)));
+        this.nomes = List.copyOf(estados.keySet());
+        this.atrasoMaximoSegundos = atrasoMaximo.toSeconds();
+        this.leiturasNaPrimaria = Counter.builder("argus.datasource.leituras.primaria")
+                .description("Transações somente leitura enviadas à primária por falta de réplica disponível")
+                .register(meterRegistry);
+        estados.forEach((nome, estado) -> {
+            Gauge.builder("argus.datasource.replica.atraso", estado, e -> e.atrasoSegundos)
+                    .tag("replica", nome)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("argus.datasource.replica.disponivel", estado, e -> e.disponivel ? 1 : 0)
+                    .tag("replica", nome)
+                    .register(meterRegistry);
+        });
+    }
+
+    Map<String, DataSource> dataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        estados.forEach((nome, estado) -> dataSources.put(nome, estado.dataSource));
+        return dataSources;
+    }
+
+    // Próxima réplica disponível no rodízio, ou null para usar a primária
+    String escolher() {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), nomes.size());
+        for (int i = 0; i < nomes.size(); i++) {
+            String nome = nomes.get((inicio + i) % nomes.size());
+            if (estados.get(nome).disponivel) {
+                return nome;
+            }
+        }
+        leiturasNaPrimaria.increment();
+        return null;
+    }
+
+    // Falha ao abrir conexão numa leitura: a réplica sai do rodízio até a próxima verificação
+    void marcarIndisponivel(String nome) {
+        Estado estado = estados.get(nome);
+        estado.disponivel = false;
+        estado.atrasoSegundos = INDISPONIVEL;
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.replicas.verificacao-ms:5000}")
+    public void verificar() {
+        for (Estado estado : estados.values()) {
+            long atraso = medirAtraso(estado.dataSource);
+            estado.atrasoSegundos = atraso;
+            estado.disponivel = atraso != INDISPONIVEL && atraso <= atrasoMaximoSegundos;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Estado estado : estados.values()) {
+            if (estado.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    private static long medirAtraso(DataSource dataSource) {
+        try (Connection conexao = dataSource.getConnection()) {
+            if (!conexao.isValid(TIMEOUT_VALIDACAO_SEGUNDOS)) {
+                return INDISPONIVEL;
+            }
+            for (String[] consulta : CONSULTAS_ATRASO) {
+                try (Statement statement = conexao.createStatement();
+                     ResultSet resultado = statement.executeQuery(consulta[0])) {
+                    // Sem linha: a instância não replica de ninguém, como num ambiente local com dois bancos
+                    if (!resultado.next()) {
+                        return 0;
+                    }
+                    long atraso = resultado.getLong(consulta[1]);
+                    return resultado.wasNull() ? INDISPONIVEL : atraso;
+                } catch (SQLException e) {
+                    // comando não suportado: tenta o próximo
+                }
+            }
+            return 0;
+        } catch (SQLException e) {
+            return INDISPONIVEL;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.argus.api.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Envia as transações somente leitura para uma réplica e todo o resto para a primária. A decisão depende da
+ * transação já estar marcada como somente leitura quando a conexão é aberta, por isso este DataSource fica atrás
+ * de um LazyConnectionDataSourceProxy, que só abre a conexão no primeiro comando.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primaria;
+    private final ReplicasLeitura replicas;
+
+    public RoteamentoDataSource(DataSource primaria, ReplicasLeitura replicas) {
+        this.primaria = primaria;
+        this.replicas = replicas;
+        setTargetDataSources(new HashMap<>(replicas.dataSources()));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? replicas.escolher() : null;
+    }
+
+    // Se a réplica escolhida não entrega conexão, a leitura segue na primária em vez de falhar
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object chave = determineCurrentLookupKey();
+        if (chave == null) {
+            return primaria.getConnection();
+        }
+        Map<Object, DataSource> resolvidos = getResolvedDataSources();
+        try {
+            return resolvidos.get(chave).getConnection();
+        } catch (SQLException e) {
+            replicas.marcarIndisponivel((String) chave);
+            return primaria.getConnection();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.argus.api.infra.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escreve as linhas de uma exportação direto na resposta, uma a uma, à medida que o cursor do banco as entrega:
+ * a memória usada não depende do tamanho da coleção. Cada linha passa pelo ObjectMapper da aplicação, então o
+ * CSV tem as mesmas colunas e formatos de data do NDJSON e da API.
+ */
+@Component
+public class EscritorExportacao {
+
+    public enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        final String contentType;
+        final String extensao;
+
+        Formato(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public static Formato de(String formato) {
+            try {
+                return valueOf(formato.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportação inválido: use ndjson ou csv.");
+            }
+        }
+    }
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final ObjectMapper objectMapper;
+
+    public EscritorExportacao(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Define os cabeçalhos do download e devolve a saída, compactada quando o cliente aceita gzip
+    public OutputStream abrir(HttpServletResponse resposta, String nome, Formato formato, String acceptEncoding)
+            throws IOException {
+        resposta.setContentType(formato.contentType);
+        resposta.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(nome + "-" + LocalDate.now().format(FORMATO_DATA) + "." + formato.extensao)
+                .build().toString());
+        resposta.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            resposta.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new GZIPOutputStream(resposta.getOutputStream(), 8192);
+        }
+        return resposta.getOutputStream();
+    }
+
+    public void escrever(Stream<?> linhas, Formato formato, OutputStream saida) throws IOException {
+        if (formato == Formato.NDJSON) {
+            escreverNdjson(linhas.iterator(), saida);
+        } else {
+            escreverCsv(linhas.iterator(), saida);
+        }
+    }
+
+    private void escreverNdjson(Iterator<?> linhas, OutputStream saida) throws IOException {
+        // Sem flush por linha: o buffer do gerador e o do Tomcat decidem quando os bytes vão para a rede
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // O separador entre valores raiz é a quebra de linha abaixo, não o espaço padrão do Jackson
+        gerador.setRootValueSeparator(null);
+        while (linhas.hasNext()) {
+            escritor.writeValue(gerador, linhas.next());
+            gerador.writeRaw('\n');
+        }
+        gerador.close();
+    }
+
+    // O cabeçalho sai dos campos da primeira linha; uma exportação vazia não tem cabeçalho
+    private void escreverCsv(Iterator<?> linhas, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        boolean primeira = true;
+        while (linhas.hasNext()) {
+            JsonNode linha = objectMapper.valueToTree(linhas.next());
+            if (primeira) {
+                escreverLinhaCsv(escritor, linha, true);
+                primeira = false;
+            }
+            escreverLinhaCsv(escritor, linha, false);
+        }
+        escritor.flush();
+    }
+
+    private static void escreverLinhaCsv(Writer escritor, JsonNode linha, boolean cabecalho) throws IOException {
+        boolean primeiraColuna = true;
+        for (Iterator<Map.Entry<String, JsonNode>> campos = linha.fields(); campos.hasNext(); ) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            if (!primeiraColuna) {
+                escritor.write(',');
+            }
+            primeiraColuna = false;
+            escritor.write(cabecalho ? celula(campo.getKey()) : celula(campo.getValue()));
+        }
+        escritor.write("\r\n");
+    }
+
+    private static String celula(JsonNode valor) {
+        if (valor.isNull() || valor.isMissingNode()) {
+            return "";
+        }
+        if (!valor.isTextual()) {
+            return celula(valor.isValueNode() ? valor.asText() : valor.toString());
+        }
+        String texto = valor.asText();
+        // Texto livre começando com = + - @ seria lido como fórmula pela planilha
+        if (!texto.isEmpty() && "=+-@\t\r".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        return celula(texto);
+    }
+
+    private static String celula(String texto) {
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,104 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.exception.HashingSaturadoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o BCrypt num pool próprio e limitado, para que picos de login não ocupem todas as threads do Tomcat
+ * com hashing. Quando a fila do pool está cheia, ou a espera passa do limite, lança
+ * {@link HashingSaturadoException}, que vira um 503 imediato em vez de uma requisição presa.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration esperaMaxima;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int capacidadeFila,
+                                  Duration esperaMaxima, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.esperaMaxima = esperaMaxima;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "hash-senha", Tags.empty()).bindTo(meterRegistry);
+        this.tempoEncode = Timer.builder("argus.senha.hash")
+                .tag("operacao", "encode")
+                .register(meterRegistry);
+        this.tempoMatches = Timer.builder("argus.senha.hash")
+                .tag("operacao", "matches")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> delegate.encode(rawPassword), tempoEncode);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> delegate.matches(rawPassword, encodedPassword), tempoMatches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> tarefa, Timer timer) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> timer.recordCallable(tarefa));
+        } catch (RejectedExecutionException e) {
+            throw new HashingSaturadoException("Servidor ocupado, tente novamente em instantes.");
+        }
+
+        try {
+            return futuro.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new HashingSaturadoException("Servidor ocupado, tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingSaturadoException("Servidor ocupado, tente novamente em instantes.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "hash-senha-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.repository.TokensRevogadosRepository;
+import com.argus.api.repository.UsuarioRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revogação em memória: para cada usuário, o instante a partir do qual os tokens são válidos.
+ * É recarregada periodicamente da coluna usuarios.tokens_validos_desde e, para usuários excluídos, da tabela
+ * tokens_revogados, então um logout ou exclusão feito em outra instância passa a valer aqui em até um
+ * intervalo de atualização. Só guarda revogações mais novas que a
+ * validade do token, porque os tokens emitidos antes disso já expiraram.
+ */
+@Component
+public class RevogacaoTokens {
+
+    private final UsuarioRepository usuarioRepository;
+    private final TokensRevogadosRepository tokensRevogadosRepository;
+
+    private final Map<Long, Instant> validosDesde = new ConcurrentHashMap<>();
+
+    public RevogacaoTokens(UsuarioRepository usuarioRepository, TokensRevogadosRepository tokensRevogadosRepository) {
+        this.usuarioRepository = usuarioRepository;
+        this.tokensRevogadosRepository = tokensRevogadosRepository;
+    }
+
+    public boolean estaRevogado(Long usuarioId, Instant emitidoEm) {
+        Instant limite = validosDesde.get(usuarioId);
+        if (limite == null) {
+            return false;
+        }
+        // O iat do JWT tem precisão de segundos
+        return emitidoEm == null || emitidoEm.isBefore(limite.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public void revogar(Long usuarioId) {
+        LocalDateTime agora = LocalDateTime.now();
+        usuarioRepository.revogarTokens(usuarioId, agora);
+        validosDesde.merge(usuarioId, agora.atZone(ZoneId.systemDefault()).toInstant(), RevogacaoTokens::maisRecente);
+    }
+
+    // Para usuários excluídos: a linha em usuarios vai embora, então a revogação fica em tokens_revogados.
+    // Deve ser chamada antes da exclusão, para que uma falha aqui não deixe o usuário excluído com tokens válidos
+    public void revogarExcluido(Long usuarioId) {
+        LocalDateTime agora = LocalDateTime.now();
+        tokensRevogadosRepository.registrar(usuarioId, agora);
+        validosDesde.merge(usuarioId, agora.atZone(ZoneId.systemDefault()).toInstant(), RevogacaoTokens::maisRecente);
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.revogacao.intervalo-ms:30000}")
+    public void atualizar() {
+        Instant corte = Instant.now().minus(TokenService.VALIDADE);
+        LocalDateTime corteLocal = LocalDateTime.ofInstant(corte, ZoneId.systemDefault());
+
+        usuarioRepository.findByTokensValidosDesdeAfter(corteLocal)
+                .forEach(revogacao -> validosDesde.merge(
+                        revogacao.getId(),
+                        revogacao.getTokensValidosDesde().atZone(ZoneId.systemDefault()).toInstant(),
+                        RevogacaoTokens::maisRecente));
+        tokensRevogadosRepository.listarDepoisDe(corteLocal)
+                .forEach(revogacao -> validosDesde.merge(
+                        revogacao.usuarioId(),
+                        revogacao.validosDesde().atZone(ZoneId.systemDefault()).toInstant(),
+                        RevogacaoTokens::maisRecente));
+        tokensRevogadosRepository.removerAntesDe(corteLocal);
+
+        validosDesde.values().removeIf(instante -> instante.isBefore(corte));
+    }
+
+    private static Instant maisRecente(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,6 +1,9 @@
 package com.argus.api.infra.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -20,6 +24,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -29,6 +34,11 @@ public class SecurityConfigurations {
     @Autowired
     SecurityFilter securityFilter;
 
+    @Value("${server.port:8080}")
+    int portaServidor;
+
+    @Value("${management.server.port:${server.port:8080}}")
+    int portaGerenciamento;
 
 
     @Bean
@@ -38,7 +48,13 @@ public class SecurityConfigurations {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // O despacho assíncrono que encerra um stream SSE já foi autorizado na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                        // <-- ACTUATOR -- > //
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(coletaPrometheus()).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/auth/cadastro").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         // <-- CONDOMINIO -- > //
                         .requestMatchers(HttpMethod.POST, "/condominio").hasRole("ADMIN")
@@ -48,6 +64,7 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.DELETE, "/condominio/{id}").hasRole("ADMIN")
                         // <-- USUARIOS -- > //
                         .requestMatchers(HttpMethod.GET, "/usuarios").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
+                        .requestMatchers(HttpMethod.GET, "/usuarios/export").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.GET, "/usuarios/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.DELETE, "/usuarios/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         // <-- COMUNICADO -- > //
@@ -63,15 +80,18 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.DELETE, "/sessaoVotacao/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         // <-- VOTOS -- > //
                         .requestMatchers(HttpMethod.GET, "/votos").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
+                        .requestMatchers(HttpMethod.GET, "/votos/export").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.GET, "/votos/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.DELETE, "/votos/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         // <-- OCORRENCIAS -- > //
                         .requestMatchers(HttpMethod.POST, "/ocorrencias").hasRole("MORADOR")
                         .requestMatchers(HttpMethod.GET, "/ocorrencias").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
+                        .requestMatchers(HttpMethod.GET, "/ocorrencias/export").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.GET, "/ocorrencias/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.PUT, "/ocorrencias/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.DELETE, "/ocorrencias/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         // <-- RESERVAS  -- > //
+                        .requestMatchers(HttpMethod.GET, "/reservas/export").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .requestMatchers(HttpMethod.DELETE, "/reservas/{id}").hasAnyRole("ADMIN", "SINDICO", "SUBSINDICO")
                         .anyRequest().authenticated()
                 )
@@ -79,14 +99,27 @@ public class SecurityConfigurations {
                 .build();
     }
 
+    // O Prometheus coleta sem token, mas só pela porta de gerenciamento, que fica fora do balanceador público.
+    // Com o actuator na mesma porta da API o endpoint continua exigindo ADMIN
+    private RequestMatcher coletaPrometheus() {
+        return request -> portaGerenciamento != portaServidor
+                && request.getLocalPort() == portaGerenciamento
+                && HttpMethod.GET.matches(request.getMethod())
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.senha.threads:0}") int threads,
+                                           @Value("${api.security.senha.fila:64}") int capacidadeFila,
+                                           @Value("${api.security.senha.espera-maxima:2s}") Duration esperaMaxima) {
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), tamanhoPool, capacidadeFila, esperaMaxima, meterRegistry);
     }
 
     @Bean
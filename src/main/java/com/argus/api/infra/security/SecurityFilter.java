@@ -1,11 +1,13 @@
 package com.argus.api.infra.security;
 
-import com.argus.api.repository.UsuarioRepository;
+import com.argus.api.service.AuthorizationService;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,29 +18,58 @@ import java.io.IOException;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
+
+    // Única rota que aceita o token na query string, porque o EventSource do navegador não envia cabeçalhos
+    private static final String ROTA_STREAM_NOTIFICACOES = "/notificacoes/stream";
+
     @Autowired
     TokenService tokenService;
 
     @Autowired
-    UsuarioRepository usuarioRepository;
+    AuthorizationService authorizationService;
+
+    @Autowired
+    RevogacaoTokens revogacaoTokens;
+
+    // No modo stateless o principal vem só das claims do token, sem consulta ao UsuarioRepository
+    @Value("${api.security.token.stateless:false}")
+    boolean autenticacaoStateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if(token != null) {
-            var cpf = tokenService.validateToken(token);
-            UserDetails user = usuarioRepository.findByCpf(cpf);
-
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            DecodedJWT jwt = tokenService.decodificarToken(token);
+            if (jwt != null) {
+                UserDetails user = this.recoverUser(jwt);
+                if (user != null) {
+                    var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails recoverUser(DecodedJWT jwt) {
+        UsuarioPrincipal principal = tokenService.extrairPrincipal(jwt);
+        if (principal != null && revogacaoTokens.estaRevogado(principal.getId(), jwt.getIssuedAtAsInstant())) {
+            return null;
+        }
+        if (autenticacaoStateless && principal != null) {
+            return principal;
+        }
+        return authorizationService.carregarPrincipal(jwt.getSubject());
+    }
 
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
-        if (authHeader == null) return null;
+        if (authHeader == null) {
+            if ("GET".equals(request.getMethod()) && ROTA_STREAM_NOTIFICACOES.equals(request.getServletPath())) {
+                return request.getParameter("token");
+            }
+            return null;
+        }
         return authHeader.replace("Bearer ", "");
     }
 }
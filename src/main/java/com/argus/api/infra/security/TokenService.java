@@ -1,51 +1,130 @@
 package com.argus.api.infra.security;
 
+import com.argus.api.domain.TipoDoUsuario;
 import com.argus.api.domain.model.Usuarios;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 public class TokenService {
 
-    @Value("${JWT_SECRET:my-secret-key}")
+    public static final Duration VALIDADE = Duration.ofHours(48);
+
+    private static final String ISSUER = "APIARGUS";
+
+    // Claims usadas pelo modo stateless para montar o principal sem ir ao banco
+    private static final String CLAIM_ID = "id";
+    private static final String CLAIM_TIPO = "tipo";
+    private static final String CLAIM_CONDOMINIO = "condominio_id";
+
+    @Value("${api.security.token.secret}")
     private String secret;
 
+    // Identificador (kid) da chave que assina os novos tokens
+    @Value("${api.security.token.kid:principal}")
+    private String kidAtivo;
+
+    // Chaves antigas ainda aceitas na validação durante a rotação, no formato "kid:segredo,kid:segredo"
+    @Value("${api.security.token.chaves-anteriores:}")
+    private String chavesAnteriores;
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: montados uma vez e reaproveitados
+    private Algorithm algoritmoAssinatura;
+    private JWTVerifier verificadorPadrao;
+    private Map<String, JWTVerifier> verificadores;
+
+    @PostConstruct
+    void inicializarChaves() {
+        algoritmoAssinatura = Algorithm.HMAC256(secret);
+
+        Map<String, JWTVerifier> porKid = new HashMap<>();
+        porKid.put(kidAtivo, criarVerificador(algoritmoAssinatura));
+        if (!chavesAnteriores.isBlank()) {
+            for (String chave : chavesAnteriores.split(",")) {
+                String[] partes = chave.trim().split(":", 2);
+                if (partes.length != 2 || partes[0].isBlank() || partes[1].isBlank()) {
+                    throw new IllegalStateException("Chave JWT mal formatada em api.security.token.chaves-anteriores.");
+                }
+                porKid.putIfAbsent(partes[0], criarVerificador(Algorithm.HMAC256(partes[1])));
+            }
+        }
+
+        verificadores = Map.copyOf(porKid);
+        verificadorPadrao = verificadores.get(kidAtivo);
+    }
+
     public String generateToken(Usuarios usuarios) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            String token = JWT.create()
-                    .withIssuer("APIARGUS")
+            var builder = JWT.create()
+                    .withIssuer(ISSUER)
+                    .withKeyId(kidAtivo)
                     .withSubject(usuarios.getCpf())
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(genExpirationDate())
-                    .sign(algorithm);
-            return token;
+                    .withClaim(CLAIM_ID, usuarios.getId())
+                    .withClaim(CLAIM_TIPO, usuarios.getTipoDoUsuario().name());
+            if (usuarios.getCondominioId() != null) {
+                builder.withClaim(CLAIM_CONDOMINIO, usuarios.getCondominioId());
+            }
+            return builder.sign(algoritmoAssinatura);
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error While Generating Token", exception);
         }
     }
 
     public String validateToken(String token) {
+        DecodedJWT jwt = decodificarToken(token);
+        return jwt != null ? jwt.getSubject() : "";
+    }
+
+    // Retorna o token verificado, ou null quando a assinatura, o emissor ou a validade não conferem
+    public DecodedJWT decodificarToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("APIARGUS")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decoded = JWT.decode(token);
+            // Tokens emitidos antes da rotação não têm kid e foram assinados com a chave ativa
+            JWTVerifier verificador = decoded.getKeyId() == null
+                    ? verificadorPadrao
+                    : verificadores.get(decoded.getKeyId());
+            if (verificador == null) {
+                return null;
+            }
+            return verificador.verify(decoded);
         } catch (JWTVerificationException exception) {
-            return "";
+            return null;
         }
     }
 
+    // Tokens emitidos antes das claims de usuário retornam null e seguem pela consulta ao banco
+    public UsuarioPrincipal extrairPrincipal(DecodedJWT jwt) {
+        Long id = jwt.getClaim(CLAIM_ID).asLong();
+        String tipo = jwt.getClaim(CLAIM_TIPO).asString();
+        if (id == null || tipo == null) {
+            return null;
+        }
+        return new UsuarioPrincipal(id, jwt.getSubject(), TipoDoUsuario.valueOf(tipo), jwt.getClaim(CLAIM_CONDOMINIO).asLong());
+    }
+
+    private JWTVerifier criarVerificador(Algorithm algorithm) {
+        return JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
     private Instant genExpirationDate() {
-        return LocalDateTime.now().plusHours(48).toInstant(ZoneOffset.of("-03:00"));
+        return LocalDateTime.now().plus(VALIDADE).toInstant(ZoneOffset.of("-03:00"));
     }
 }
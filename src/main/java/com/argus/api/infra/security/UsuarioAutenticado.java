@@ -0,0 +1,13 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.domain.TipoDoUsuario;
+
+// Dados do usuário logado disponíveis tanto no principal carregado do banco quanto no montado a partir do token
+public interface UsuarioAutenticado {
+
+    Long getId();
+
+    TipoDoUsuario getTipoDoUsuario();
+
+    Long getCondominioId();
+}
@@ -0,0 +1,55 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.domain.TipoDoUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+// Principal do modo stateless: montado só com as claims assinadas do token, sem consultar o banco
+@Getter
+@AllArgsConstructor
+public class UsuarioPrincipal implements UserDetails, UsuarioAutenticado {
+
+    private final Long id;
+    private final String cpf;
+    private final TipoDoUsuario tipoDoUsuario;
+    private final Long condominioId;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return tipoDoUsuario.getAuthorities();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return cpf;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
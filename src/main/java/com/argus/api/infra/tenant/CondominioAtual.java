@@ -0,0 +1,37 @@
+package com.argus.api.infra.tenant;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.infra.security.UsuarioAutenticado;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Condomínio do usuário autenticado na thread atual, usado para isolar as consultas
+public final class CondominioAtual {
+
+    // Usuário comum sem condomínio: o filtro usa um id que não existe e nenhuma linha aparece
+    static final long SEM_CONDOMINIO = 0L;
+
+    private CondominioAtual() {
+    }
+
+    // Retorna null quando não há isolamento: sem usuário autenticado (tarefas agendadas, login) ou ADMIN
+    public static Long idParaFiltro() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UsuarioAutenticado usuario)) {
+            return null;
+        }
+        if (usuario.getTipoDoUsuario() == TipoDoUsuario.ADMIN) {
+            return null;
+        }
+        return usuario.getCondominioId() != null ? usuario.getCondominioId() : SEM_CONDOMINIO;
+    }
+
+    // Chave de cache de dados resolvidos por nome, que podem se repetir entre condomínios
+    public static String chaveCache(String nome) {
+        return chaveCache(idParaFiltro(), nome);
+    }
+
+    public static String chaveCache(Long condominioId, String nome) {
+        return (condominioId != null ? condominioId : "*") + ":" + nome;
+    }
+}
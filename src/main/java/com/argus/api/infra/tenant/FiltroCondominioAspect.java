@@ -0,0 +1,119 @@
+package com.argus.api.infra.tenant;
+
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.domain.model.Ocorrencias;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.domain.model.Voto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.Session;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Habilita o filtro Hibernate {@link Condominio#FILTRO} na sessão antes de cada chamada a um repositório Spring
+ * Data, com o condomínio do usuário autenticado. O filtro vale para as consultas (derivadas, JPQL e paginação),
+ * mas o Hibernate não o aplica na busca pela chave primária; por isso findById confere o condomínio da entidade
+ * carregada e deleteById passa antes por esse findById. Os repositórios JdbcTemplate não passam por aqui.
+ */
+@Aspect
+@Component
+public class FiltroCondominioAspect {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public FiltroCondominioAspect(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object filtrar(ProceedingJoinPoint joinPoint) throws Throwable {
+        Long condominioId = CondominioAtual.idParaFiltro();
+        if (condominioId == null) {
+            return joinPoint.proceed();
+        }
+
+        EntityManager vinculado = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (vinculado != null) {
+            return executar(joinPoint, vinculado, condominioId);
+        }
+
+        // Sem transação nem open-in-view: vincula um EntityManager só para esta chamada, para que o filtro valha
+        EntityManager temporario = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(temporario));
+        try {
+            return executar(joinPoint, temporario, condominioId);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(temporario);
+        }
+    }
+
+    private Object executar(ProceedingJoinPoint joinPoint, EntityManager entityManager, Long condominioId) throws Throwable {
+        Session session = entityManager.unwrap(Session.class);
+        if (session.getEnabledFilter(Condominio.FILTRO) == null) {
+            session.enableFilter(Condominio.FILTRO).setParameter(Condominio.PARAMETRO_FILTRO, condominioId);
+        }
+
+        String metodo = joinPoint.getSignature().getName();
+        if (metodo.equals("deleteById") && joinPoint.getThis() instanceof CrudRepository<?, ?> repositorio) {
+            @SuppressWarnings("unchecked")
+            Optional<?> existente = ((CrudRepository<Object, Object>) repositorio).findById(joinPoint.getArgs()[0]);
+            if (existente.isEmpty()) {
+                return null;
+            }
+        }
+
+        Object resultado = joinPoint.proceed();
+        if (metodo.equals("findById") && resultado instanceof Optional<?> encontrado && encontrado.isPresent()
+                && !pertence(encontrado.get(), condominioId)) {
+            return Optional.empty();
+        }
+        return resultado;
+    }
+
+    // Entidades sem condomínio próprio seguem a associação até uma que tenha
+    private static boolean pertence(Object entidade, Long condominioId) {
+        Long dono;
+        if (entidade instanceof Usuarios usuario) {
+            dono = usuario.getCondominioId();
+        } else if (entidade instanceof Comunicados comunicado) {
+            dono = idDe(comunicado.getCondominio());
+        } else if (entidade instanceof AreasComuns area) {
+            dono = idDe(area.getCondominio());
+        } else if (entidade instanceof SessaoVotacao sessao) {
+            dono = idDe(sessao.getCondominio());
+        } else if (entidade instanceof Reservas reserva) {
+            dono = idDe(reserva.getAreasComuns().getCondominio());
+        } else if (entidade instanceof Ocorrencias ocorrencia) {
+            dono = ocorrencia.getUsuario().getCondominioId();
+        } else if (entidade instanceof Voto voto) {
+            dono = idDe(voto.getSessaoVotacao().getCondominio());
+        } else if (entidade instanceof Notificacoes notificacao) {
+            dono = notificacao.getComunicado() != null
+                    ? idDe(notificacao.getComunicado().getCondominio())
+                    : notificacao.getReserva() != null ? idDe(notificacao.getReserva().getAreasComuns().getCondominio()) : null;
+        } else {
+            return true;
+        }
+        return Objects.equals(dono, condominioId);
+    }
+
+    private static Long idDe(Condominio condominio) {
+        return condominio != null ? condominio.getId() : null;
+    }
+}
@@ -1,14 +1,24 @@
 package com.argus.api.repository;
 
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.dto.AreasComunsDTO;
 
 @Repository
 public interface AreasComunsRepository extends JpaRepository<AreasComuns, Long> {
     Optional<AreasComuns> findByNome(String nome);
+
+    // Paginação por cursor (keyset) sobre o id, projetada direto no DTO com um único select
+    @Query("select new com.argus.api.dto.AreasComunsDTO(a.id, a.nome, a.disponivel, c.nome) " +
+            "from AreasComuns a join a.condominio c where a.id > :after order by a.id")
+    List<AreasComunsDTO> listarPagina(@Param("after") Long after, Limit limit);
 }
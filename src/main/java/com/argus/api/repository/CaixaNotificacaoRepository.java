@@ -0,0 +1,104 @@
+package com.argus.api.repository;
+
+import com.argus.api.dto.NotificacaoDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Caixa de entrada de notificações por morador; as consultas do morador partem de usuario_id, início da chave primária
+@Repository
+public class CaixaNotificacaoRepository {
+
+    public record NotificacaoCondominio(Long condominioId, NotificacaoDTO notificacao) { }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CaixaNotificacaoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void inserir(List<Long> usuarios, List<Long> notificacoes) {
+        List<Object[]> linhas = new ArrayList<>(usuarios.size() * notificacoes.size());
+        for (Long usuarioId : usuarios) {
+            for (Long notificacaoId : notificacoes) {
+                linhas.add(new Object[]{usuarioId, notificacaoId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO caixa_notificacao (usuario_id, notificacao_id) VALUES (?, ?)", linhas);
+    }
+
+    // Feed do mais novo para o mais antigo, a partir do cursor (exclusivo)
+    public List<NotificacaoDTO> listar(Long usuarioId, long antesDe, int limite) {
+        return jdbcTemplate.query(
+                "SELECT n.id, n.titulo, n.corpo_de_texto, n.data, c.lida FROM caixa_notificacao c " +
+                        "JOIN notificacoes n ON n.id = c.notificacao_id " +
+                        "WHERE c.usuario_id = ? AND c.notificacao_id < ? ORDER BY c.notificacao_id DESC LIMIT ?",
+                this::mapear, usuarioId, antesDe, limite);
+    }
+
+    // Notificações recebidas depois do cursor (exclusivo), da mais antiga para a mais nova
+    public List<NotificacaoDTO> listarApos(Long usuarioId, long depoisDe, int limite) {
+        return jdbcTemplate.query(
+                "SELECT n.id, n.titulo, n.corpo_de_texto, n.data, c.lida FROM caixa_notificacao c " +
+                        "JOIN notificacoes n ON n.id = c.notificacao_id " +
+                        "WHERE c.usuario_id = ? AND c.notificacao_id > ? ORDER BY c.notificacao_id LIMIT ?",
+                this::mapear, usuarioId, depoisDe, limite);
+    }
+
+    // Notificações criadas depois do cursor (exclusivo) em qualquer condomínio, da mais antiga para a mais nova
+    public List<NotificacaoCondominio> listarNovas(long depoisDe, int limite) {
+        return jdbcTemplate.query(
+                "SELECT n.id, n.titulo, n.corpo_de_texto, n.data, FALSE AS lida, " +
+                        "COALESCE(co.condominio_id, a.condominio_id) AS condominio_id FROM notificacoes n " +
+                        "LEFT JOIN comunicados co ON co.id = n.id_comunicados " +
+                        "LEFT JOIN reservas r ON r.id = n.id_reserva " +
+                        "LEFT JOIN areas_comuns a ON a.id = r.areas_comuns_id " +
+                        "WHERE n.id > ? ORDER BY n.id LIMIT ?",
+                (rs, i) -> new NotificacaoCondominio(rs.getObject("condominio_id", Long.class), mapear(rs, i)),
+                depoisDe, limite);
+    }
+
+    public long ultimaNotificacao() {
+        Long ultima = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM notificacoes", Long.class);
+        return ultima != null ? ultima : 0;
+    }
+
+    public long contarNaoLidas(Long usuarioId) {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM caixa_notificacao WHERE usuario_id = ? AND lida = FALSE", Long.class, usuarioId);
+        return total != null ? total : 0;
+    }
+
+    // Retorna 0 se a notificação não está na caixa do usuário ou já estava lida
+    public int marcarLida(Long usuarioId, Long notificacaoId) {
+        return jdbcTemplate.update(
+                "UPDATE caixa_notificacao SET lida = TRUE, lida_em = CURRENT_TIMESTAMP " +
+                        "WHERE usuario_id = ? AND notificacao_id = ? AND lida = FALSE",
+                usuarioId, notificacaoId);
+    }
+
+    public int marcarTodasLidas(Long usuarioId) {
+        return jdbcTemplate.update(
+                "UPDATE caixa_notificacao SET lida = TRUE, lida_em = CURRENT_TIMESTAMP WHERE usuario_id = ? AND lida = FALSE",
+                usuarioId);
+    }
+
+    public int remover(Long usuarioId, Long notificacaoId) {
+        return jdbcTemplate.update("DELETE FROM caixa_notificacao WHERE usuario_id = ? AND notificacao_id = ?",
+                usuarioId, notificacaoId);
+    }
+
+    private NotificacaoDTO mapear(ResultSet rs, int linha) throws SQLException {
+        return new NotificacaoDTO(
+                rs.getLong("id"),
+                rs.getString("titulo"),
+                rs.getString("corpo_de_texto"),
+                rs.getObject("data", LocalDate.class),
+                rs.getBoolean("lida"));
+    }
+}
@@ -1,13 +1,23 @@
 package com.argus.api.repository;
 
 import com.argus.api.domain.model.Comunicados;
+import com.argus.api.dto.ComunicadoDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ComunicadoRepository extends JpaRepository<Comunicados, Long> {
     Optional<Comunicados> findById(Long id);
+
+    // Paginação por cursor (keyset) sobre o id, projetada direto no DTO com um único select
+    @Query("select new com.argus.api.dto.ComunicadoDTO(c.id, cd.nome, c.titulo, c.mensagem) " +
+            "from Comunicados c join c.condominio cd where c.id > :after order by c.id")
+    List<ComunicadoDTO> listarPagina(@Param("after") Long after, Limit limit);
 }
 
@@ -0,0 +1,53 @@
+package com.argus.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Concessões com prazo na tabela lease_tarefa. Uma instância só executa a tarefa enquanto detém a concessão;
+ * se ela parar de renovar, outra assume quando o prazo vence. Os prazos usam o relógio do banco, então
+ * diferenças entre os relógios das instâncias não importam.
+ */
+@Repository
+public class LeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Identifica esta instância como dona das concessões
+    private final String dono = nomeDaInstancia();
+
+    public LeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Adquire ou renova a concessão; retorna false se outra instância a detém
+    public boolean adquirir(String nome, Duration duracao) {
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO lease_tarefa (nome, dono, expira_em) VALUES (?, NULL, CURRENT_TIMESTAMP)", nome);
+        int atualizadas = jdbcTemplate.update(
+                "UPDATE lease_tarefa SET dono = ?, expira_em = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) " +
+                        "WHERE nome = ? AND (dono = ? OR expira_em <= CURRENT_TIMESTAMP)",
+                dono, duracao.toSeconds(), nome, dono);
+        return atualizadas == 1;
+    }
+
+    public void liberar(String nome) {
+        jdbcTemplate.update("UPDATE lease_tarefa SET dono = NULL, expira_em = CURRENT_TIMESTAMP WHERE nome = ? AND dono = ?",
+                nome, dono);
+    }
+
+    private static String nomeDaInstancia() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "desconhecido";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -1,10 +1,17 @@
 package com.argus.api.repository;
 
 import com.argus.api.domain.model.Ocorrencias;
+import com.argus.api.dto.OcorrenciasDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OcorrenciasRepository extends JpaRepository<Ocorrencias, Long> {
@@ -12,4 +19,15 @@ public interface OcorrenciasRepository extends JpaRepository<Ocorrencias, Long>
     List<Ocorrencias> findByTipo(Ocorrencias.TipoOcorrencia tipo);
     List<Ocorrencias> findByStatusAprovacao(Ocorrencias.StatusAprovacao statusAprovacao);
     List<Ocorrencias> findByStatusResolucao(Ocorrencias.StatusResolucao statusResolucao);
+
+    // Paginação por cursor (keyset) sobre o id. data_criacao é gravada na inserção, então a ordem do id já é a
+    // ordem de criação
+    List<Ocorrencias> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Exportação completa, projetada no DTO e lida linha a linha como em UsuarioRepository.exportar
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.argus.api.dto.OcorrenciasDTO(o.id, o.titulo, o.descricao, o.tipo, o.statusAprovacao, " +
+            "o.statusResolucao, o.dataCriacao, o.usuario.id, a.id, o.feedback) " +
+            "from Ocorrencias o left join o.area a order by o.id")
+    Stream<OcorrenciasDTO> exportar();
 }
\ No newline at end of file
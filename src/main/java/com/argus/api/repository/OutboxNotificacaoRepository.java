@@ -0,0 +1,61 @@
+package com.argus.api.repository;
+
+import com.argus.api.domain.TipoNotificacao;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+public class OutboxNotificacaoRepository {
+
+    public record EventoNotificacao(Long id, TipoNotificacao tipo, Long referenciaId, Long condominioId, int tentativas) { }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxNotificacaoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Deve ser chamado dentro da transação que grava a origem do evento
+    public void registrar(TipoNotificacao tipo, Long referenciaId, Long condominioId) {
+        jdbcTemplate.update("INSERT INTO outbox_notificacao (tipo, referencia_id, condominio_id) VALUES (?, ?, ?)",
+                tipo.name(), referenciaId, condominioId);
+    }
+
+    /**
+     * Próximos eventos em ordem de criação. Um evento aguardando nova tentativa segura os eventos seguintes
+     * do mesmo condomínio, preservando a ordem de entrega por condomínio. Eventos que esgotaram as
+     * tentativas ficam na tabela para inspeção e não bloqueiam mais nada.
+     */
+    public List<EventoNotificacao> listarPendentes(int tentativasMaximas, int limite) {
+        return jdbcTemplate.query(
+                "SELECT o.id, o.tipo, o.referencia_id, o.condominio_id, o.tentativas FROM outbox_notificacao o " +
+                        "WHERE o.tentativas < ? " +
+                        "AND (o.proxima_tentativa_em IS NULL OR o.proxima_tentativa_em <= CURRENT_TIMESTAMP) " +
+                        "AND NOT EXISTS (SELECT 1 FROM outbox_notificacao b WHERE b.condominio_id = o.condominio_id " +
+                        "AND b.id < o.id AND b.tentativas < ? AND b.proxima_tentativa_em > CURRENT_TIMESTAMP) " +
+                        "ORDER BY o.id LIMIT ?",
+                (rs, i) -> new EventoNotificacao(
+                        rs.getLong("id"),
+                        TipoNotificacao.valueOf(rs.getString("tipo")),
+                        rs.getLong("referencia_id"),
+                        rs.getObject("condominio_id", Long.class),
+                        rs.getInt("tentativas")),
+                tentativasMaximas, tentativasMaximas, limite);
+    }
+
+    // Retorna quantos eventos ainda estavam no outbox; as linhas ficam travadas até o fim da transação
+    public int remover(List<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM outbox_notificacao WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+    }
+
+    public void adiar(Long id, long segundos, String erro) {
+        jdbcTemplate.update(
+                "UPDATE outbox_notificacao SET tentativas = tentativas + 1, " +
+                        "proxima_tentativa_em = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP), ultimo_erro = ? WHERE id = ?",
+                segundos, erro, id);
+    }
+}
@@ -0,0 +1,37 @@
+package com.argus.api.repository;
+
+import com.argus.api.exception.HorarioOcupadoException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Slots de 15 minutos ocupados por cada reserva; são removidos em cascata junto com a reserva
+@Repository
+public class ReservaSlotRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservaSlotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Só a chave primária dos slots vira HorarioOcupadoException; outras falhas de integridade seguem como estão
+    public void ocupar(Long areaId, LocalDate data, int slotInicial, int slotFinal, Long reservaId) {
+        List<Object[]> linhas = new ArrayList<>(slotFinal - slotInicial);
+        for (int slot = slotInicial; slot < slotFinal; slot++) {
+            linhas.add(new Object[]{areaId, Date.valueOf(data), slot, reservaId});
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO reservas_slots (areas_comuns_id, data_reserva, slot, reserva_id) VALUES (?, ?, ?, ?)",
+                    linhas);
+        } catch (DuplicateKeyException e) {
+            throw new HorarioOcupadoException("Área já reservada para essa data e horário.", e);
+        }
+    }
+}
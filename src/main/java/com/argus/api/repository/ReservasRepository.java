@@ -2,18 +2,47 @@ package com.argus.api.repository;
 
 import com.argus.api.domain.model.AreasComuns;
 import com.argus.api.domain.model.Reservas;
+import com.argus.api.dto.ReservasDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservasRepository extends JpaRepository<Reservas, Long> {
     Optional<Reservas> findByAreasComunsAndDataReserva(AreasComuns areasComuns, LocalDate dataReserva);
 
-	Optional<Reservas> findByAreasComunsAndDataReservaAndHoraInicioBetween(AreasComuns areasComuns,
-			LocalDate localDate, LocalTime horaInicio, LocalTime horaFim);
+    // Carrega a agenda de um dia da área para o índice de conflitos
+    List<Reservas> findByAreasComunsIdAndDataReserva(Long areasComunsId, LocalDate dataReserva);
+
+    List<Reservas> findByAreasComunsIdAndDataReservaBetween(Long areasComunsId, LocalDate de, LocalDate ate);
+
+    // Reservas referenciadas por eventos do outbox de notificações, com a área no mesmo select
+    @EntityGraph(attributePaths = "areasComuns")
+    List<Reservas> findByIdIn(Collection<Long> ids);
+
+    // Paginação por cursor (keyset) sobre o id, projetada direto no DTO com um único select. As páginas seguem a
+    // ordem do id, não a da data reservada: data_reserva vem do pedido e pode estar em qualquer ponto do calendário.
+    // A ocupação por data fica em /areasComuns/{id}/disponibilidade
+    @Query("select new com.argus.api.dto.ReservasDTO(r.id, a.nome, r.dataReserva, r.horaInicio, r.horaFim) " +
+            "from Reservas r join r.areasComuns a where r.id > :after order by r.id")
+    List<ReservasDTO> listarPagina(@Param("after") Long after, Limit limit);
+
+    // Exportação completa com a mesma projeção, lida linha a linha como em UsuarioRepository.exportar
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.argus.api.dto.ReservasDTO(r.id, a.nome, r.dataReserva, r.horaInicio, r.horaFim) " +
+            "from Reservas r join r.areasComuns a order by r.id")
+    Stream<ReservasDTO> exportar();
 }
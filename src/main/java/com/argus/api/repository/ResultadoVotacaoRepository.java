@@ -0,0 +1,10 @@
+package com.argus.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.argus.api.domain.model.ResultadoVotacao;
+
+@Repository
+public interface ResultadoVotacaoRepository extends JpaRepository<ResultadoVotacao, Long> {
+}
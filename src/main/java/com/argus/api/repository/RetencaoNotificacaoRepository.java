@@ -0,0 +1,81 @@
+package com.argus.api.repository;
+
+import com.argus.api.domain.TipoNotificacao;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consultas da retenção de notificações. As notificações são percorridas por faixa de id, do cursor até o
+ * último id anterior à data de corte, para que cada lote seja uma varredura curta na chave primária.
+ */
+@Repository
+public class RetencaoNotificacaoRepository {
+
+    public record NotificacaoExpirada(Long id, String titulo, String corpoDeTexto, LocalDate data,
+                                      Long comunicadoId, Long reservaId, Long usuarioId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RetencaoNotificacaoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Maior id com data anterior ao corte, ou 0 se não há nenhum
+    public long ultimoIdAntesDe(LocalDate corte) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM notificacoes WHERE data < ? ORDER BY data DESC, id DESC LIMIT 1", Long.class, corte);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    public List<NotificacaoExpirada> listarLote(TipoNotificacao tipo, long depoisDe, long ate, LocalDate corte, int limite) {
+        return jdbcTemplate.query(
+                "SELECT id, titulo, corpo_de_texto, data, id_comunicados, id_reserva, id_usuarios FROM notificacoes " +
+                        "WHERE id > ? AND id <= ? AND data < ? AND " + colunaOrigem(tipo) + " IS NOT NULL " +
+                        "ORDER BY id LIMIT ?",
+                (rs, i) -> new NotificacaoExpirada(
+                        rs.getLong("id"),
+                        rs.getString("titulo"),
+                        rs.getString("corpo_de_texto"),
+                        rs.getObject("data", LocalDate.class),
+                        rs.getObject("id_comunicados", Long.class),
+                        rs.getObject("id_reserva", Long.class),
+                        rs.getObject("id_usuarios", Long.class)),
+                depoisDe, ate, corte, limite);
+    }
+
+    // Moradores com alguma das notificações ainda não lida, cujo contador em cache muda com a remoção
+    public List<Long> listarUsuariosComNaoLidas(List<Long> notificacoes) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT usuario_id FROM caixa_notificacao WHERE notificacao_id IN (" +
+                        marcadores(notificacoes.size()) + ") AND lida = FALSE",
+                Long.class, notificacoes.toArray());
+    }
+
+    // Remove no máximo "limite" linhas das caixas de entrada; chamado em laço para não segurar locks por muito tempo
+    public int removerDasCaixas(List<Long> notificacoes, int limite) {
+        return jdbcTemplate.update(
+                "DELETE FROM caixa_notificacao WHERE notificacao_id IN (" + marcadores(notificacoes.size()) + ") LIMIT " + limite,
+                notificacoes.toArray());
+    }
+
+    public int remover(List<Long> notificacoes) {
+        return jdbcTemplate.update(
+                "DELETE FROM notificacoes WHERE id IN (" + marcadores(notificacoes.size()) + ")", notificacoes.toArray());
+    }
+
+    private static String colunaOrigem(TipoNotificacao tipo) {
+        return switch (tipo) {
+            case COMUNICADO -> "id_comunicados";
+            case RESERVA -> "id_reserva";
+        };
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+}
@@ -1,14 +1,35 @@
 package com.argus.api.repository;
 
 import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.dto.SessaoVotacaoDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SessaoVotacaoRepository extends JpaRepository<SessaoVotacao, Long> {
     List<SessaoVotacao> findByCondominio_Nome(String Nome);
     List<SessaoVotacao> findAll();
-}
 
+    // Paginação por cursor (keyset) sobre o id, projetada direto no DTO com um único select
+    @Query("select new com.argus.api.dto.SessaoVotacaoDTO(s.id, s.proposta, s.descricao, s.dataInicio, s.dataFim, c.nome) " +
+            "from SessaoVotacao s left join s.condominio c where s.id > :after order by s.id")
+    List<SessaoVotacaoDTO> listarPagina(@Param("after") Long after, Limit limit);
+
+    List<SessaoVotacao> findByEncerradaFalseAndDataFimBefore(LocalDate data);
+
+    // Retorna 0 se outra instância já encerrou a sessão
+    @Modifying
+    @Query("update SessaoVotacao s set s.encerrada = true where s.id = :id and s.encerrada = false")
+    int marcarEncerrada(@Param("id") Long id);
+
+    @Query("select s.id from SessaoVotacao s where s.encerrada = true and s.id in :ids")
+    List<Long> listarEncerradas(@Param("ids") Collection<Long> ids);
+}
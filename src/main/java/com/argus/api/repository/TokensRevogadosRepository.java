@@ -0,0 +1,36 @@
+package com.argus.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Revogações de tokens de usuários excluídos; sem usuario_id como chave estrangeira, a linha sobrevive à exclusão
+@Repository
+public class TokensRevogadosRepository {
+
+    public record TokenRevogado(Long usuarioId, LocalDateTime validosDesde) { }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TokensRevogadosRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void registrar(Long usuarioId, LocalDateTime validosDesde) {
+        jdbcTemplate.update("INSERT INTO tokens_revogados (usuario_id, validos_desde) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE validos_desde = VALUES(validos_desde)", usuarioId, validosDesde);
+    }
+
+    public List<TokenRevogado> listarDepoisDe(LocalDateTime desde) {
+        return jdbcTemplate.query("SELECT usuario_id, validos_desde FROM tokens_revogados WHERE validos_desde > ?",
+                (rs, i) -> new TokenRevogado(rs.getLong("usuario_id"), rs.getTimestamp("validos_desde").toLocalDateTime()),
+                desde);
+    }
+
+    // Tokens emitidos antes do corte já expiraram; a revogação deixa de ser necessária
+    public int removerAntesDe(LocalDateTime corte) {
+        return jdbcTemplate.update("DELETE FROM tokens_revogados WHERE validos_desde <= ?", corte);
+    }
+}
@@ -1,15 +1,63 @@
 package com.argus.api.repository;
 
+import com.argus.api.domain.TipoDoUsuario;
 import com.argus.api.domain.model.Usuarios;
+import com.argus.api.dto.UsuarioDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuarios, Long> {
     Optional<Usuarios> findById(Long id);
+    // O principal fica em cache fora da sessão: o condomínio precisa vir carregado
+    @EntityGraph(attributePaths = "condominio")
     UserDetails findByCpf(String cpf);
     Optional<Usuarios> findUsuarioByCpf(String cpf);
+
+    // Paginação por cursor (keyset) sobre o id; o condomínio vem no mesmo select
+    @EntityGraph(attributePaths = "condominio")
+    List<Usuarios> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Exportação completa, projetada no DTO. Com fetch size Integer.MIN_VALUE o driver do MySQL entrega as linhas
+    // uma a uma em vez de carregar o resultado inteiro; exige transação aberta, e a conexão não atende outra
+    // consulta até o stream ser fechado
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.argus.api.dto.UsuarioDTO(u.id, u.nome, u.telefone, cast(u.tipoDoUsuario as String), " +
+            "u.bloco, u.apartamento, c.nome, c.endereco) from Usuarios u left join u.condominio c order by u.id")
+    Stream<UsuarioDTO> exportar();
+
+    // Moradores aptos a votar nas sessões do condomínio (administradores da plataforma ficam de fora)
+    long countByCondominio_IdAndTipoDoUsuarioNot(Long condominioId, TipoDoUsuario tipoDoUsuario);
+
+    // Destinatários do fan-out das notificações do condomínio
+    @Query("select u.id from Usuarios u where u.condominio.id = :condominioId and u.tipoDoUsuario <> :excluido")
+    List<Long> listarIdsPorCondominio(@Param("condominioId") Long condominioId, @Param("excluido") TipoDoUsuario excluido);
+
+    // Revogações recentes, lidas periodicamente pelo modo de autenticação stateless
+    List<RevogacaoToken> findByTokensValidosDesdeAfter(LocalDateTime desde);
+
+    @Transactional
+    @Modifying
+    @Query("update Usuarios u set u.tokensValidosDesde = :instante where u.id = :id")
+    int revogarTokens(@Param("id") Long id, @Param("instante") LocalDateTime instante);
+
+    interface RevogacaoToken {
+        Long getId();
+        LocalDateTime getTokensValidosDesde();
+    }
 }
@@ -0,0 +1,56 @@
+package com.argus.api.repository;
+
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.domain.model.Voto;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Gravação em lote dos votos da fila de ingestão
+@Repository
+public class VotoLoteRepository {
+
+    public record VotoPendente(Long sessaoId, Long usuarioId, boolean voto) { }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public VotoLoteRepository(EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // O lote vai ao banco em inserts JDBC agrupados no commit. Um voto já gravado derruba o lote inteiro, o que só
+    // acontece ao reaplicar o diário; aí os votos são gravados um a um. Retorna 1 por voto gravado e 0 por repetido
+    public int[] inserir(List<VotoPendente> votos) {
+        int[] linhas = new int[votos.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> votos.forEach(this::persistir));
+            Arrays.fill(linhas, 1);
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < votos.size(); i++) {
+                VotoPendente voto = votos.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistir(voto));
+                    linhas[i] = 1;
+                } catch (DataIntegrityViolationException repetido) {
+                    linhas[i] = 0;
+                }
+            }
+        }
+        return linhas;
+    }
+
+    private void persistir(VotoPendente pendente) {
+        Voto voto = new Voto();
+        voto.setVoto(pendente.voto());
+        voto.setSessaoVotacao(entityManager.getReference(SessaoVotacao.class, pendente.sessaoId()));
+        voto.setUsuarios(entityManager.getReference(Usuarios.class, pendente.usuarioId()));
+        entityManager.persist(voto);
+    }
+}
@@ -1,13 +1,23 @@
 package com.argus.api.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.argus.api.domain.model.SessaoVotacao;
 import com.argus.api.domain.model.Usuarios;
 import com.argus.api.domain.model.Voto;
+import com.argus.api.dto.VotoExportacaoDTO;
 
 @Repository
 public interface VotoRepository extends JpaRepository<Voto, Long> {
@@ -16,8 +26,35 @@ public interface VotoRepository extends JpaRepository<Voto, Long> {
     
     // Verificar se um usuário já votou na sessão de votação
     boolean existsByUsuariosAndSessaoVotacao(Usuarios usuarios, SessaoVotacao sessaoVotacao);
-    
+
     // Buscar votos pela proposta (presumindo que a SessaoVotacao tenha um campo 'proposta')
     List<Voto> findBySessaoVotacaoProposta(String proposta);
-}
 
+    // Paginação por cursor (keyset) sobre o id, geral e por sessão. A sessão e o condomínio são
+    // serializados junto com o voto, então vêm no mesmo select
+    @EntityGraph(attributePaths = {"sessaoVotacao", "sessaoVotacao.condominio"})
+    List<Voto> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"sessaoVotacao", "sessaoVotacao.condominio"})
+    List<Voto> findBySessaoVotacaoAndIdGreaterThanOrderByIdAsc(SessaoVotacao sessaoVotacao, Long id, Limit limit);
+
+    // Exportação completa para auditoria; como na listagem, o voto não identifica o morador
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.argus.api.dto.VotoExportacaoDTO(v.id, s.id, s.proposta, v.voto) " +
+            "from Voto v join v.sessaoVotacao s order by v.id")
+    Stream<VotoExportacaoDTO> exportar();
+
+    @Query("select v.usuarios.id from Voto v where v.sessaoVotacao.id = :sessaoId")
+    List<Long> listarVotantes(@Param("sessaoId") Long sessaoId);
+
+    // Totais de sim/não das sessões, usados para carregar e reconciliar a apuração em memória
+    @Query("select v.sessaoVotacao.id as sessaoId, v.voto as voto, count(v) as quantidade from Voto v " +
+            "where v.sessaoVotacao.id in :sessoes group by v.sessaoVotacao.id, v.voto")
+    List<ContagemVotos> contarPorSessao(@Param("sessoes") Collection<Long> sessoes);
+
+    interface ContagemVotos {
+        Long getSessaoId();
+        Boolean getVoto();
+        Long getQuantidade();
+    }
+}
@@ -0,0 +1,71 @@
+package com.argus.api.service;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reservas de uma área comum num dia, pelo id da reserva. O conflito é verificado nos slots
+ * de 15 minutos, a mesma granularidade da tabela reservas_slots: duas reservas que tocam o mesmo slot
+ * conflitam mesmo sem se sobrepor em minutos, senão o índice aceitaria o que o banco recusa. As escritas
+ * são feitas sob a trava da AgendaReservas; o mapa de ocupação é publicado por cópia e pode ser lido sem
+ * trava.
+ */
+class AgendaDia {
+
+    private static final int PALAVRAS = (AgendaReservas.SLOTS_POR_DIA + Long.SIZE - 1) / Long.SIZE;
+
+    record Intervalo(Long reservaId, LocalTime inicio, LocalTime fim) { }
+
+    // Pelo id, não pelo início: reservas anteriores aos slots podem começar no mesmo horário
+    private final Map<Long, Intervalo> porReserva = new HashMap<>();
+
+    // Um bit por slot de 15 minutos; o array publicado nunca é alterado
+    private volatile long[] ocupados = new long[PALAVRAS];
+
+    boolean conflita(LocalTime inicio, LocalTime fim) {
+        long[] atual = ocupados;
+        for (int slot = AgendaReservas.slotInicial(inicio); slot < AgendaReservas.slotFinal(fim); slot++) {
+            if (ocupado(atual, slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void adicionar(Long reservaId, LocalTime inicio, LocalTime fim) {
+        porReserva.put(reservaId, new Intervalo(reservaId, inicio, fim));
+        long[] novo = ocupados.clone();
+        marcar(novo, inicio, fim);
+        ocupados = novo;
+    }
+
+    void remover(Long reservaId) {
+        if (porReserva.remove(reservaId) != null) {
+            // Reservas antigas podem dividir um slot, então o mapa é refeito em vez de limpar os bits
+            long[] novo = new long[PALAVRAS];
+            for (Intervalo restante : porReserva.values()) {
+                marcar(novo, restante.inicio(), restante.fim());
+            }
+            ocupados = novo;
+        }
+    }
+
+    long[] ocupacao() {
+        return ocupados;
+    }
+
+    static boolean ocupado(long[] ocupacao, int slot) {
+        return (ocupacao[slot / Long.SIZE] & (1L << (slot % Long.SIZE))) != 0;
+    }
+
+    private static void marcar(long[] ocupacao, LocalTime inicio, LocalTime fim) {
+        for (int slot = AgendaReservas.slotInicial(inicio); slot < AgendaReservas.slotFinal(fim); slot++) {
+            ocupacao[slot / Long.SIZE] |= 1L << (slot % Long.SIZE);
+        }
+    }
+
+    int tamanho() {
+        return porReserva.size();
+    }
+}
@@ -0,0 +1,212 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.exception.HorarioOcupadoException;
+import com.argus.api.repository.ReservasRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Índice em memória das reservas por área e dia, usado para detectar conflitos sem consultar o banco.
+ * As operações na mesma área e dia são serializadas por travas listradas. A garantia entre instâncias da
+ * API vem da tabela reservas_slots: se outra instância ocupou o horário, a gravação falha na chave
+ * primária e o dia é recarregado do banco. Os dias ficam num cache limitado em tamanho e com o TTL de
+ * api.reservas.agenda, para que consultas de disponibilidade em datas distantes não acumulem memória.
+ */
+@Component
+public class AgendaReservas {
+
+    public static final int MINUTOS_POR_SLOT = 15;
+    public static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT;
+
+    private static final int LISTRAS = 64;
+    private static final String MENSAGEM_CONFLITO = "Área já reservada para essa data e horário.";
+
+    private record Chave(Long areaId, LocalDate data) { }
+
+    private final ReservasRepository reservasRepository;
+    private final Cache<Chave, AgendaDia> agendas;
+    private final ReentrantLock[] travas = new ReentrantLock[LISTRAS];
+
+    // O TTL limita por quanto tempo reservas feitas em outra instância podem faltar na disponibilidade.
+    // Tamanho ou TTL zerados deixam o cache sem aquele limite
+    public AgendaReservas(ReservasRepository reservasRepository,
+                          @Value("${api.reservas.agenda.ttl:0}") Duration ttl,
+                          @Value("${api.reservas.agenda.tamanho-maximo:0}") long tamanhoMaximo) {
+        this.reservasRepository = reservasRepository;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (tamanhoMaximo > 0) {
+            builder.maximumSize(tamanhoMaximo);
+        }
+        if (!ttl.isZero()) {
+            // Só a carga reinicia o prazo: reservas adicionadas pela própria instância não adiam a releitura
+            builder.expireAfterWrite(ttl);
+        }
+        this.agendas = builder.build();
+        for (int i = 0; i < LISTRAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Grava a reserva via {@code persistir} somente se o intervalo estiver livre. A gravação acontece com a
+     * trava do dia adquirida, então precisa confirmar a transação antes de retornar. Só o
+     * HorarioOcupadoException dos slots vira conflito; qualquer outra falha da gravação é repassada.
+     */
+    public Reservas reservar(Long areaId, LocalDate data, LocalTime inicio, LocalTime fim, Supplier<Reservas> persistir) {
+        Chave chave = new Chave(areaId, data);
+        ReentrantLock trava = trava(chave);
+        trava.lock();
+        try {
+            AgendaDia agenda = agendaAtual(chave);
+            if (agenda.conflita(inicio, fim)) {
+                // A reserva conflitante pode ter sido excluída por outra instância: confirma no banco
+                agenda = recarregar(chave);
+                if (agenda.conflita(inicio, fim)) {
+                    throw new RuntimeException(MENSAGEM_CONFLITO);
+                }
+            }
+
+            Reservas reserva;
+            try {
+                reserva = persistir.get();
+            } catch (HorarioOcupadoException e) {
+                recarregar(chave);
+                throw new RuntimeException(MENSAGEM_CONFLITO);
+            }
+
+            agenda.adicionar(reserva.getId(), inicio, fim);
+            return reserva;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public void liberar(Long areaId, LocalDate data, Long reservaId, Runnable excluir) {
+        Chave chave = new Chave(areaId, data);
+        ReentrantLock trava = trava(chave);
+        trava.lock();
+        try {
+            excluir.run();
+            AgendaDia agenda = agendas.getIfPresent(chave);
+            if (agenda != null) {
+                agenda.remover(reservaId);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Mapa de ocupação de cada dia do período, na ordem das datas. Os dias que não estão em memória são
+     * carregados com uma única consulta, feita com as travas desses dias adquiridas: uma exclusão no meio da
+     * carga esperaria a consulta terminar, em vez de ser sobrescrita pelo resultado antigo.
+     */
+    public Map<LocalDate, long[]> ocupacao(Long areaId, LocalDate de, LocalDate ate) {
+        Map<LocalDate, long[]> resultado = new LinkedHashMap<>();
+        SortedSet<Integer> listras = new TreeSet<>();
+        for (LocalDate dia = de; !dia.isAfter(ate); dia = dia.plusDays(1)) {
+            Chave chave = new Chave(areaId, dia);
+            AgendaDia agenda = agendas.getIfPresent(chave);
+            if (agenda == null) {
+                listras.add(listra(chave));
+            }
+            resultado.put(dia, agenda != null ? agenda.ocupacao() : null);
+        }
+        if (listras.isEmpty()) {
+            return resultado;
+        }
+
+        // Em ordem crescente de listra: reservar e liberar seguram uma trava só, então não há espera circular
+        List<ReentrantLock> adquiridas = new ArrayList<>(listras.size());
+        try {
+            for (int listra : listras) {
+                travas[listra].lock();
+                adquiridas.add(travas[listra]);
+            }
+            Map<LocalDate, AgendaDia> carregadas = new HashMap<>();
+            for (Reservas reserva : reservasRepository.findByAreasComunsIdAndDataReservaBetween(areaId, de, ate)) {
+                carregadas.computeIfAbsent(reserva.getDataReserva(), d -> new AgendaDia())
+                        .adicionar(reserva.getId(), reserva.getHoraInicio(), reserva.getHoraFim());
+            }
+            for (Map.Entry<LocalDate, long[]> dia : resultado.entrySet()) {
+                if (dia.getValue() != null) {
+                    continue;
+                }
+                // Outra requisição pode ter carregado o dia enquanto esta esperava a trava
+                Chave chave = new Chave(areaId, dia.getKey());
+                AgendaDia atual = agendas.getIfPresent(chave);
+                if (atual == null) {
+                    atual = carregadas.getOrDefault(dia.getKey(), new AgendaDia());
+                    agendas.put(chave, atual);
+                }
+                dia.setValue(atual.ocupacao());
+            }
+        } finally {
+            for (int i = adquiridas.size() - 1; i >= 0; i--) {
+                adquiridas.get(i).unlock();
+            }
+        }
+        return resultado;
+    }
+
+    // Dias que já passaram não recebem novas reservas
+    @Scheduled(cron = "${api.reservas.limpeza-agenda.cron:0 0 3 * * *}")
+    public void descartarDiasPassados() {
+        LocalDate hoje = LocalDate.now();
+        agendas.asMap().keySet().removeIf(chave -> chave.data().isBefore(hoje));
+    }
+
+    public static int slotInicial(LocalTime inicio) {
+        return inicio.toSecondOfDay() / 60 / MINUTOS_POR_SLOT;
+    }
+
+    // Exclusivo: a reserva ocupa todos os slots que toca, de slotInicial até slotFinal - 1
+    public static int slotFinal(LocalTime fim) {
+        int minutos = fim.toSecondOfDay() / 60;
+        return (minutos + MINUTOS_POR_SLOT - 1) / MINUTOS_POR_SLOT;
+    }
+
+    private AgendaDia agendaAtual(Chave chave) {
+        return agendas.get(chave, this::carregar);
+    }
+
+    private AgendaDia recarregar(Chave chave) {
+        AgendaDia agenda = carregar(chave);
+        agendas.put(chave, agenda);
+        return agenda;
+    }
+
+    private AgendaDia carregar(Chave chave) {
+        AgendaDia agenda = new AgendaDia();
+        for (Reservas reserva : reservasRepository.findByAreasComunsIdAndDataReserva(chave.areaId(), chave.data())) {
+            agenda.adicionar(reserva.getId(), reserva.getHoraInicio(), reserva.getHoraFim());
+        }
+        return agenda;
+    }
+
+    private ReentrantLock trava(Chave chave) {
+        return travas[listra(chave)];
+    }
+
+    private static int listra(Chave chave) {
+        return Math.floorMod(Objects.hash(chave.areaId(), chave.data()), LISTRAS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.argus.api.service;
+
+import com.argus.api.dto.ResultadoVotacaoDTO;
+import com.argus.api.repository.VotoRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de sim/não por sessão, atualizados a cada voto registrado ou excluído. A primeira leitura de
+ * uma sessão carrega os totais do banco; depois disso o resultado sai da memória. A reconciliação periódica
+ * corrige votos gravados por outras instâncias e incrementos que correram junto com a última recontagem.
+ */
+@Component
+public class ApuracaoVotos {
+
+    static final class Contagem {
+        final LongAdder sim = new LongAdder();
+        final LongAdder nao = new LongAdder();
+
+        Contagem(long sim, long nao) {
+            this.sim.add(sim);
+            this.nao.add(nao);
+        }
+
+        void somar(boolean voto, long quantidade) {
+            (voto ? sim : nao).add(quantidade);
+        }
+    }
+
+    private final VotoRepository votoRepository;
+    private final Map<Long, Contagem> contagens = new ConcurrentHashMap<>();
+
+    public ApuracaoVotos(VotoRepository votoRepository) {
+        this.votoRepository = votoRepository;
+    }
+
+    // Chamado depois que o voto foi gravado
+    public void registrar(Long sessaoId, boolean voto) {
+        Contagem contagem = contagens.get(sessaoId);
+        if (contagem != null) {
+            contagem.somar(voto, 1);
+        }
+    }
+
+    // Chamado depois que o voto foi excluído
+    public void remover(Long sessaoId, boolean voto) {
+        Contagem contagem = contagens.get(sessaoId);
+        if (contagem != null) {
+            contagem.somar(voto, -1);
+        }
+    }
+
+    public ResultadoVotacaoDTO resultado(Long sessaoId) {
+        Contagem contagem = contagens.computeIfAbsent(sessaoId, id -> contar(Set.of(id)).get(id));
+        return ResultadoVotacaoDTO.parcial(sessaoId, contagem.sim.sum(), contagem.nao.sum());
+    }
+
+    public boolean emMemoria(Long sessaoId) {
+        return contagens.containsKey(sessaoId);
+    }
+
+    public Set<Long> sessoesEmMemoria() {
+        return Set.copyOf(contagens.keySet());
+    }
+
+    public void descartar(Long sessaoId) {
+        contagens.remove(sessaoId);
+    }
+
+    @Scheduled(fixedDelayString = "${api.votacao.reconciliacao.intervalo-ms:60000}")
+    public void reconciliar() {
+        if (contagens.isEmpty()) {
+            return;
+        }
+        Map<Long, Contagem> atuais = contar(Set.copyOf(contagens.keySet()));
+        // replace não recria contadores de sessões descartadas durante a recontagem
+        atuais.forEach(contagens::replace);
+    }
+
+    private Map<Long, Contagem> contar(Set<Long> sessoes) {
+        Map<Long, Contagem> resultado = new HashMap<>();
+        for (Long sessaoId : sessoes) {
+            resultado.put(sessaoId, new Contagem(0, 0));
+        }
+        List<VotoRepository.ContagemVotos> linhas = votoRepository.contarPorSessao(sessoes);
+        for (VotoRepository.ContagemVotos linha : linhas) {
+            resultado.get(linha.getSessaoId()).somar(linha.getVoto(), linha.getQuantidade());
+        }
+        return resultado;
+    }
+}
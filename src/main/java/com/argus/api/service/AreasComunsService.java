@@ -1,20 +1,27 @@
 package com.argus.api.service;
 
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.argus.api.domain.event.AreaComumAlteradaEvent;
 import com.argus.api.domain.model.AreasComuns;
 import com.argus.api.domain.model.Condominio;
 import com.argus.api.dto.AreasComunsDTO;
+import com.argus.api.dto.DisponibilidadeDTO;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.repository.AreasComunsRepository;
-import com.argus.api.repository.CondominioRepository;
-
-import jakarta.transaction.Transactional;
 
 @Service
 public class AreasComunsService {
@@ -23,11 +30,19 @@ public class AreasComunsService {
     private AreasComunsRepository areasComunsRepository;
 
     @Autowired
-    private CondominioRepository condominioRepository;
+    private ReferenciaService referenciaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AgendaReservas agendaReservas;
+
+    private static final int MAXIMO_DIAS_DISPONIBILIDADE = 31;
 
     public AreasComunsDTO cadastrarAreaComum(AreasComunsDTO areasComunsDTO) {
         // Buscar condomínio pelo nome
-        Condominio condominio = condominioRepository.findByNome(areasComunsDTO.condominioNome())
+        Condominio condominio = referenciaService.buscarCondominioPorNome(areasComunsDTO.condominioNome())
                 .orElseThrow(() -> new RuntimeException("Condomínio não encontrado."));
 
         AreasComuns areasComuns = new AreasComuns();
@@ -36,22 +51,25 @@ public class AreasComunsService {
         areasComuns.setCondominio(condominio);
 
         areasComunsRepository.save(areasComuns);
+        eventPublisher.publishEvent(new AreaComumAlteradaEvent(areasComuns.getCondominio().getId(),
+                List.of(areasComuns.getNome())));
 
         return convertToDTO(areasComuns);
     }
 
-    public List<AreasComunsDTO> listarTodasAsAreasComuns() {
-        List<AreasComuns> areasComunsList = areasComunsRepository.findAll();
-
-        return areasComunsList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<AreasComunsDTO> listarTodasAsAreasComuns(Long after, Integer limit) {
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<AreasComunsDTO> areasComuns = areasComunsRepository.listarPagina(
+                PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1));
+        return PaginaDTO.of(areasComuns, limite, AreasComunsDTO::id);
     }
 
     @Transactional
     public AreasComunsDTO atualizarAreaComum(Long id, AreasComunsDTO areasComunsDTO) {
         AreasComuns areasComuns = areasComunsRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Área comum não encontrada."));
+        String nomeAnterior = areasComuns.getNome();
 
         if (areasComunsDTO.nome() != null) {
             areasComuns.setNome(areasComunsDTO.nome());
@@ -62,6 +80,8 @@ public class AreasComunsService {
         }
 
         areasComunsRepository.save(areasComuns);
+        eventPublisher.publishEvent(new AreaComumAlteradaEvent(areasComuns.getCondominio().getId(),
+                List.of(nomeAnterior, areasComuns.getNome())));
 
         return convertToDTO(areasComuns);
     }
@@ -76,11 +96,66 @@ public class AreasComunsService {
         String nomeAreaComum = areasComuns.getNome();
 
         areasComunsRepository.delete(areasComuns);
+        eventPublisher.publishEvent(new AreaComumAlteradaEvent(areasComuns.getCondominio().getId(),
+                List.of(nomeAreaComum)));
 
         return ResponseEntity.ok("A Área de " + nomeAreaComum + " Foi excluída com sucesso.");
     }
 
-    private AreasComunsDTO convertToDTO(AreasComuns areasComuns) {
+    public DisponibilidadeDTO consultarDisponibilidade(Long id, LocalDate de, LocalDate ate, Integer granularidade) {
+        AreasComuns areasComuns = areasComunsRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Área comum não encontrada."));
+
+        LocalDate inicio = de != null ? de : LocalDate.now();
+        LocalDate fim = ate != null ? ate : inicio;
+        if (fim.isBefore(inicio) || ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS_DISPONIBILIDADE) {
+            throw new IllegalArgumentException("O período consultado deve ter entre 1 e " + MAXIMO_DIAS_DISPONIBILIDADE + " dias.");
+        }
+
+        int minutos = granularidade != null ? granularidade : AgendaReservas.MINUTOS_POR_SLOT;
+        if (minutos <= 0 || minutos % AgendaReservas.MINUTOS_POR_SLOT != 0 || 24 * 60 % minutos != 0) {
+            throw new IllegalArgumentException("A granularidade deve ser um múltiplo de " + AgendaReservas.MINUTOS_POR_SLOT
+                    + " minutos que divida o dia.");
+        }
+
+        List<DisponibilidadeDTO.Dia> dias = new ArrayList<>();
+        for (Map.Entry<LocalDate, long[]> dia : agendaReservas.ocupacao(id, inicio, fim).entrySet()) {
+            dias.add(new DisponibilidadeDTO.Dia(dia.getKey(), faixas(dia.getValue(), minutos)));
+        }
+        return new DisponibilidadeDTO(areasComuns.getId(), areasComuns.getNome(), areasComuns.getDisponivel(), minutos, dias);
+    }
+
+    // Um bloco da granularidade pedida fica ocupado se qualquer slot de 15 minutos dentro dele estiver
+    private static List<DisponibilidadeDTO.Faixa> faixas(long[] ocupacao, int minutos) {
+        int slotsPorBloco = minutos / AgendaReservas.MINUTOS_POR_SLOT;
+        List<DisponibilidadeDTO.Faixa> faixas = new ArrayList<>();
+        int inicioFaixa = 0;
+        boolean livreFaixa = true;
+        for (int slot = 0; slot < AgendaReservas.SLOTS_POR_DIA; slot += slotsPorBloco) {
+            boolean livre = true;
+            for (int i = slot; i < slot + slotsPorBloco && livre; i++) {
+                livre = !AgendaDia.ocupado(ocupacao, i);
+            }
+            if (slot > 0 && livre != livreFaixa) {
+                faixas.add(faixa(inicioFaixa, slot, livreFaixa));
+                inicioFaixa = slot;
+            }
+            livreFaixa = livre;
+        }
+        faixas.add(faixa(inicioFaixa, AgendaReservas.SLOTS_POR_DIA, livreFaixa));
+        return faixas;
+    }
+
+    private static DisponibilidadeDTO.Faixa faixa(int slotInicial, int slotFinal, boolean livre) {
+        // O fim do último slot do dia é representado como 23:59
+        LocalTime fim = slotFinal == AgendaReservas.SLOTS_POR_DIA
+                ? LocalTime.of(23, 59)
+                : LocalTime.ofSecondOfDay(slotFinal * AgendaReservas.MINUTOS_POR_SLOT * 60L);
+        return new DisponibilidadeDTO.Faixa(
+                LocalTime.ofSecondOfDay(slotInicial * AgendaReservas.MINUTOS_POR_SLOT * 60L), fim, livre);
+    }
+
+    AreasComunsDTO convertToDTO(AreasComuns areasComuns) {
         return new AreasComunsDTO(
                 areasComuns.getId(),
                 areasComuns.getNome(),
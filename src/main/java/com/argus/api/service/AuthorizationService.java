@@ -1,7 +1,10 @@
 package com.argus.api.service;
 
+import com.argus.api.infra.cache.CacheConfigurations;
 import com.argus.api.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -17,4 +20,14 @@ public class AuthorizationService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return usuarioRepository.findByCpf(username);
     }
+
+    // Usado pelo SecurityFilter a cada requisição autenticada; o login continua indo ao banco
+    @Cacheable(cacheNames = CacheConfigurations.PRINCIPAIS, key = "#cpf", unless = "#result == null")
+    public UserDetails carregarPrincipal(String cpf) {
+        return usuarioRepository.findByCpf(cpf);
+    }
+
+    @CacheEvict(cacheNames = CacheConfigurations.PRINCIPAIS, key = "#cpf")
+    public void removerPrincipalDoCache(String cpf) {
+    }
 }
@@ -0,0 +1,63 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Fan-out na escrita: cada notificação criada ganha uma linha na caixa de entrada de cada morador do
+ * condomínio de origem, inserida em lotes JDBC. Os contadores de não lidas em cache dos moradores são
+ * invalidados depois do commit.
+ */
+@Component
+@Order(0)
+public class CaixaEntrada implements CanalEntregaNotificacoes {
+
+    private final UsuarioRepository usuarioRepository;
+    private final CaixaNotificacaoRepository caixaNotificacaoRepository;
+    private final NotificacoesService notificacoesService;
+
+    // Linhas (morador x notificação) por lote de insert
+    @Value("${api.notificacoes.caixa.lote:1000}")
+    private int tamanhoLote;
+
+    public CaixaEntrada(UsuarioRepository usuarioRepository, CaixaNotificacaoRepository caixaNotificacaoRepository,
+                        NotificacoesService notificacoesService) {
+        this.usuarioRepository = usuarioRepository;
+        this.caixaNotificacaoRepository = caixaNotificacaoRepository;
+        this.notificacoesService = notificacoesService;
+    }
+
+    @Override
+    public void entregar(Long condominioId, List<Notificacoes> notificacoes) {
+        if (condominioId == null) {
+            return;
+        }
+        List<Long> moradores = usuarioRepository.listarIdsPorCondominio(condominioId, TipoDoUsuario.ADMIN);
+        if (moradores.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = notificacoes.stream().map(Notificacoes::getId).toList();
+        int moradoresPorLote = Math.max(1, tamanhoLote / ids.size());
+        for (int inicio = 0; inicio < moradores.size(); inicio += moradoresPorLote) {
+            caixaNotificacaoRepository.inserir(
+                    moradores.subList(inicio, Math.min(inicio + moradoresPorLote, moradores.size())), ids);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notificacoesService.invalidarNaoLidas(moradores);
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.argus.api.service;
+
+import java.util.List;
+
+import com.argus.api.domain.model.Notificacoes;
+
+/**
+ * Destino das notificações criadas pelo despacho do outbox. É chamado dentro da transação que grava as
+ * notificações: se lançar exceção, os eventos voltam para o outbox e são tentados de novo.
+ */
+public interface CanalEntregaNotificacoes {
+
+    void entregar(Long condominioId, List<Notificacoes> notificacoes);
+}
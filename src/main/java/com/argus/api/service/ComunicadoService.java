@@ -5,15 +5,17 @@ import com.argus.api.domain.model.Condominio;
 import com.argus.api.domain.model.Notificacoes;
 import com.argus.api.domain.model.Usuarios;
 import com.argus.api.dto.ComunicadoDTO;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.repository.ComunicadoRepository;
-import com.argus.api.repository.CondominioRepository;
 import com.argus.api.repository.NotificacaoRepository;
 import com.argus.api.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ComunicadoService {
@@ -25,17 +27,20 @@ public class ComunicadoService {
     private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private CondominioRepository condominioRepository;
+    private ReferenciaService referenciaService;
     
     @Autowired
     private NotificacoesService notificacoesService;
 
+    // O comunicado e o evento de notificação são gravados juntos
+    @Transactional
+    @Timed("argus.servico")
     public ComunicadoDTO enviarComunicado(ComunicadoDTO comunicadoDTO) {
 
         Usuarios usuario = usuarioRepository.findById(1L)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
 
-        Condominio condominio = condominioRepository.findByNome(comunicadoDTO.condominioNome())
+        Condominio condominio = referenciaService.buscarCondominioPorNome(comunicadoDTO.condominioNome())
                 .orElseThrow(() -> new RuntimeException("Condomínio não encontrado."));
 
         Comunicados comunicado = new Comunicados();
@@ -45,20 +50,17 @@ public class ComunicadoService {
         comunicado.setUsuarios(usuario);
 
         Comunicados salvo = comunicadoRepository.save(comunicado);
-        
-        notificacoesService.criarNotificacaoComunicado(salvo);
+        notificacoesService.agendarNotificacaoComunicado(salvo);
 
-
-        
-         return converterParaDTO(salvo);
+        return converterParaDTO(salvo);
     }
 
-    public List<ComunicadoDTO> listarComunicados() {
-        List<Comunicados> comunicados = comunicadoRepository.findAll();
-
-        return comunicados.stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<ComunicadoDTO> listarComunicados(Long after, Integer limit) {
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<ComunicadoDTO> comunicados = comunicadoRepository.listarPagina(
+                PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1));
+        return PaginaDTO.of(comunicados, limite, ComunicadoDTO::id);
     }
 
     public ComunicadoDTO atualizarComunicado(Long id, String novaMensagem, String novoTitulo) {
@@ -81,7 +83,7 @@ public class ComunicadoService {
         comunicadoRepository.delete(comunicado);
     }
 
-    private ComunicadoDTO converterParaDTO(Comunicados comunicado) {
+    ComunicadoDTO converterParaDTO(Comunicados comunicado) {
         return new ComunicadoDTO(
                 comunicado.getId(),
                 comunicado.getCondominio().getNome(),
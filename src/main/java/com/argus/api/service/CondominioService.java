@@ -1,11 +1,15 @@
 package com.argus.api.service;
 
+import com.argus.api.domain.event.CondominioAlteradoEvent;
 import com.argus.api.domain.model.Condominio;
 import com.argus.api.dto.CondominioDTO;
 import com.argus.api.repository.CondominioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -13,17 +17,24 @@ public class CondominioService {
     @Autowired
     private CondominioRepository condominioRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Condominio createCondominio(CondominioDTO condominioDTO) {
         Condominio condominio = new Condominio();
         condominio.setNome(condominioDTO.nome());
         condominio.setEndereco(condominioDTO.endereco());
-        return condominioRepository.save(condominio);
+        Condominio salvo = condominioRepository.save(condominio);
+        eventPublisher.publishEvent(new CondominioAlteradoEvent(List.of(salvo.getNome())));
+        return salvo;
     }
 
+    @Transactional(readOnly = true)
     public List<Condominio> getAllCondominios() {
         return condominioRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Condominio getCondominioById(Long id) throws Exception {
         return condominioRepository.findById(id).orElse(null);
     }
@@ -31,14 +42,20 @@ public class CondominioService {
     public Condominio updateCondominio(Long id, CondominioDTO condominioDTO) {
         Condominio condominio = condominioRepository.findById(id).orElse(null);
         if (condominio != null) {
+            String nomeAnterior = condominio.getNome();
             condominio.setNome(condominioDTO.nome());
             condominio.setEndereco(condominioDTO.endereco());
-            return condominioRepository.save(condominio);
+            Condominio salvo = condominioRepository.save(condominio);
+            eventPublisher.publishEvent(new CondominioAlteradoEvent(Arrays.asList(nomeAnterior, salvo.getNome())));
+            return salvo;
         }
         return null;
     }
 
     public void deleteCondominio(Long id) {
-        condominioRepository.deleteById(id);
+        condominioRepository.findById(id).ifPresent(condominio -> {
+            condominioRepository.delete(condominio);
+            eventPublisher.publishEvent(new CondominioAlteradoEvent(List.of(condominio.getNome())));
+        });
     }
 }
@@ -0,0 +1,187 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoNotificacao;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.repository.ComunicadoRepository;
+import com.argus.api.repository.LeaseRepository;
+import com.argus.api.repository.NotificacaoRepository;
+import com.argus.api.repository.OutboxNotificacaoRepository;
+import com.argus.api.repository.OutboxNotificacaoRepository.EventoNotificacao;
+import com.argus.api.repository.ReservasRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drena o outbox de notificações em lotes. Os eventos de cada condomínio são processados em ordem, numa
+ * transação por condomínio que remove os eventos, cria as notificações e entrega aos canais. Se a transação
+ * falhar, os eventos são refeitos um a um para isolar o que falhou; ele volta para o outbox com espera
+ * exponencial e segura os eventos seguintes do mesmo condomínio. A concessão é renovada a cada lote; se
+ * ela vencer no meio de um lote e outra instância assumir, a remoção dos eventos no início da transação
+ * detecta o que já foi despachado e desfaz a transação, sem notificações repetidas.
+ */
+@Component
+public class DespachoNotificacoes {
+
+    static final String TAREFA = "despacho-notificacoes";
+
+    private static final Logger log = LoggerFactory.getLogger(DespachoNotificacoes.class);
+
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 300;
+
+    private final OutboxNotificacaoRepository outboxRepository;
+    private final NotificacaoRepository notificacaoRepository;
+    private final ComunicadoRepository comunicadoRepository;
+    private final ReservasRepository reservasRepository;
+    private final NotificacoesService notificacoesService;
+    private final LeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<CanalEntregaNotificacoes> canais;
+
+    private final Counter despachadas;
+    private final Counter falhas;
+    private final Timer tempoLote;
+
+    @Value("${api.notificacoes.despacho.lote:200}")
+    private int tamanhoLote;
+
+    @Value("${api.notificacoes.despacho.tentativas-maximas:10}")
+    private int tentativasMaximas;
+
+    @Value("${api.notificacoes.despacho.lease:1m}")
+    private Duration duracaoLease;
+
+    public DespachoNotificacoes(OutboxNotificacaoRepository outboxRepository, NotificacaoRepository notificacaoRepository,
+                                ComunicadoRepository comunicadoRepository, ReservasRepository reservasRepository,
+                                NotificacoesService notificacoesService, LeaseRepository leaseRepository,
+                                TransactionTemplate transactionTemplate, ObjectProvider<CanalEntregaNotificacoes> canais,
+                                MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.notificacaoRepository = notificacaoRepository;
+        this.comunicadoRepository = comunicadoRepository;
+        this.reservasRepository = reservasRepository;
+        this.notificacoesService = notificacoesService;
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.canais = canais;
+        this.despachadas = Counter.builder("argus.notificacoes.outbox.despachadas").register(meterRegistry);
+        this.falhas = Counter.builder("argus.notificacoes.outbox.falhas").register(meterRegistry);
+        this.tempoLote = Timer.builder("argus.notificacoes.outbox.lote").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.notificacoes.despacho.intervalo-ms:1000}")
+    public void despachar() {
+        // Uma única instância despacha por vez, senão a ordem por condomínio não se mantém
+        if (!leaseRepository.adquirir(TAREFA, duracaoLease)) {
+            return;
+        }
+        List<EventoNotificacao> lote;
+        do {
+            lote = outboxRepository.listarPendentes(tentativasMaximas, tamanhoLote);
+            List<EventoNotificacao> eventos = lote;
+            tempoLote.record(() -> porCondominio(eventos).forEach(this::processarCondominio));
+        } while (lote.size() == tamanhoLote && leaseRepository.adquirir(TAREFA, duracaoLease));
+    }
+
+    private void processarCondominio(Long condominioId, List<EventoNotificacao> eventos) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> processar(condominioId, eventos));
+            despachadas.increment(eventos.size());
+            return;
+        } catch (EventosJaDespachados e) {
+            log.warn("Eventos do condomínio {} já despachados por outra instância; lote ignorado", condominioId);
+            return;
+        } catch (RuntimeException e) {
+            if (eventos.size() == 1) {
+                adiar(eventos.get(0), e);
+                return;
+            }
+        }
+
+        for (EventoNotificacao evento : eventos) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> processar(condominioId, List.of(evento)));
+                despachadas.increment();
+            } catch (EventosJaDespachados e) {
+                return;
+            } catch (RuntimeException e) {
+                // Os eventos seguintes do condomínio esperam este ser entregue
+                adiar(evento, e);
+                return;
+            }
+        }
+    }
+
+    private void processar(Long condominioId, List<EventoNotificacao> eventos) {
+        if (outboxRepository.remover(eventos.stream().map(EventoNotificacao::id).toList()) != eventos.size()) {
+            throw new EventosJaDespachados();
+        }
+        List<Notificacoes> notificacoes = montar(eventos);
+        // Os inserts em lote precisam chegar ao banco antes das linhas de caixa de entrada que referenciam os ids
+        notificacaoRepository.saveAllAndFlush(notificacoes);
+        if (!notificacoes.isEmpty()) {
+            canais.orderedStream().forEach(canal -> canal.entregar(condominioId, notificacoes));
+        }
+    }
+
+    // Eventos cuja origem foi excluída antes do despacho não geram notificação
+    private List<Notificacoes> montar(List<EventoNotificacao> eventos) {
+        Map<Long, Comunicados> comunicados = comunicadoRepository.findAllById(referencias(eventos, TipoNotificacao.COMUNICADO))
+                .stream().collect(Collectors.toMap(Comunicados::getId, Function.identity()));
+        List<Long> idsReservas = referencias(eventos, TipoNotificacao.RESERVA);
+        Map<Long, Reservas> reservas = idsReservas.isEmpty() ? Map.of() : reservasRepository.findByIdIn(idsReservas)
+                .stream().collect(Collectors.toMap(Reservas::getId, Function.identity()));
+
+        List<Notificacoes> notificacoes = new ArrayList<>(eventos.size());
+        for (EventoNotificacao evento : eventos) {
+            if (evento.tipo() == TipoNotificacao.COMUNICADO && comunicados.containsKey(evento.referenciaId())) {
+                notificacoes.add(notificacoesService.montarNotificacao(comunicados.get(evento.referenciaId())));
+            } else if (evento.tipo() == TipoNotificacao.RESERVA && reservas.containsKey(evento.referenciaId())) {
+                notificacoes.add(notificacoesService.montarNotificacao(reservas.get(evento.referenciaId())));
+            }
+        }
+        return notificacoes;
+    }
+
+    private void adiar(EventoNotificacao evento, RuntimeException erro) {
+        falhas.increment();
+        long espera = Math.min(1L << Math.min(evento.tentativas(), 20), ESPERA_MAXIMA_SEGUNDOS);
+        String mensagem = String.valueOf(erro.getMessage());
+        log.warn("Evento de notificação {} adiado por {}s: {}", evento.id(), espera, mensagem);
+        outboxRepository.adiar(evento.id(), espera, mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem);
+    }
+
+    private static List<Long> referencias(List<EventoNotificacao> eventos, TipoNotificacao tipo) {
+        return eventos.stream().filter(e -> e.tipo() == tipo).map(EventoNotificacao::referenciaId).toList();
+    }
+
+    // Algum evento do lote saiu do outbox depois de listado: outra instância o despachou
+    private static final class EventosJaDespachados extends RuntimeException {
+    }
+
+    // Mantém a ordem dos eventos dentro de cada condomínio
+    private static Map<Long, List<EventoNotificacao>> porCondominio(List<EventoNotificacao> eventos) {
+        Map<Long, List<EventoNotificacao>> grupos = new LinkedHashMap<>();
+        for (EventoNotificacao evento : eventos) {
+            grupos.computeIfAbsent(evento.condominioId(), id -> new ArrayList<>()).add(evento);
+        }
+        return grupos;
+    }
+}
@@ -0,0 +1,134 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.ResultadoVotacao;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.dto.ResultadoVotacaoDTO;
+import com.argus.api.repository.LeaseRepository;
+import com.argus.api.repository.ResultadoVotacaoRepository;
+import com.argus.api.repository.SessaoVotacaoRepository;
+import com.argus.api.repository.UsuarioRepository;
+import com.argus.api.repository.VotoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Encerra as sessões cujo prazo terminou e grava o resultado final em resultado_votacao. Só a instância que
+ * detém a concessão no banco executa o encerramento; mesmo assim cada sessão é marcada como encerrada de
+ * forma condicional na mesma transação que grava o resultado, então execuções repetidas não duplicam nada.
+ */
+@Component
+public class EncerramentoSessoes {
+
+    static final String TAREFA = "encerramento-sessoes";
+
+    private final SessaoVotacaoRepository sessaoVotacaoRepository;
+    private final ResultadoVotacaoRepository resultadoVotacaoRepository;
+    private final VotoRepository votoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final LeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApuracaoVotos apuracaoVotos;
+    private final FilaVotos filaVotos;
+    private final TransmissaoResultados transmissaoResultados;
+
+    @Value("${api.votacao.encerramento.lease:2m}")
+    private Duration duracaoLease;
+
+    // Espera após o fim do prazo para as filas de votos das outras instâncias esvaziarem
+    @Value("${api.votacao.encerramento.carencia:1m}")
+    private Duration carencia;
+
+    public EncerramentoSessoes(SessaoVotacaoRepository sessaoVotacaoRepository,
+                               ResultadoVotacaoRepository resultadoVotacaoRepository, VotoRepository votoRepository,
+                               UsuarioRepository usuarioRepository, LeaseRepository leaseRepository,
+                               TransactionTemplate transactionTemplate, ApuracaoVotos apuracaoVotos, FilaVotos filaVotos,
+                               TransmissaoResultados transmissaoResultados) {
+        this.sessaoVotacaoRepository = sessaoVotacaoRepository;
+        this.resultadoVotacaoRepository = resultadoVotacaoRepository;
+        this.votoRepository = votoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.apuracaoVotos = apuracaoVotos;
+        this.filaVotos = filaVotos;
+        this.transmissaoResultados = transmissaoResultados;
+    }
+
+    @Scheduled(fixedDelayString = "${api.votacao.encerramento.intervalo-ms:60000}")
+    public void executar() {
+        liberarEncerradasLocalmente();
+        if (!leaseRepository.adquirir(TAREFA, duracaoLease)) {
+            return;
+        }
+
+        // A sessão aceita votos até o último minuto de dataFim
+        LocalDate limite = LocalDateTime.now().minus(carencia).toLocalDate();
+        var vencidas = sessaoVotacaoRepository.findByEncerradaFalseAndDataFimBefore(limite);
+        if (vencidas.isEmpty()) {
+            return;
+        }
+        filaVotos.descarregar();
+        for (SessaoVotacao sessao : vencidas) {
+            ResultadoVotacao resultado = transactionTemplate.execute(status -> encerrar(sessao));
+            if (resultado != null) {
+                liberar(sessao.getId(), ResultadoVotacaoDTO.of(resultado));
+            }
+        }
+    }
+
+    // Retorna null se outra execução já encerrou a sessão
+    private ResultadoVotacao encerrar(SessaoVotacao sessao) {
+        if (sessaoVotacaoRepository.marcarEncerrada(sessao.getId()) == 0) {
+            return null;
+        }
+
+        long sim = 0;
+        long nao = 0;
+        for (VotoRepository.ContagemVotos contagem : votoRepository.contarPorSessao(Set.of(sessao.getId()))) {
+            if (contagem.getVoto()) {
+                sim = contagem.getQuantidade();
+            } else {
+                nao = contagem.getQuantidade();
+            }
+        }
+
+        long elegiveis = sessao.getCondominio() == null ? 0 : usuarioRepository
+                .countByCondominio_IdAndTipoDoUsuarioNot(sessao.getCondominio().getId(), TipoDoUsuario.ADMIN);
+        long votantes = sim + nao;
+        BigDecimal participacao = elegiveis == 0 ? null : BigDecimal.valueOf(votantes * 100)
+                .divide(BigDecimal.valueOf(elegiveis), 2, RoundingMode.HALF_UP);
+
+        return resultadoVotacaoRepository.save(new ResultadoVotacao(sessao.getId(), sim, nao,
+                Math.max(elegiveis - votantes, 0), elegiveis, participacao, LocalDateTime.now()));
+    }
+
+    // Cada instância solta o estado em memória das sessões que outra instância encerrou; a fila de votos entra
+    // na conta porque pode ter a sessão carregada sem que a apuração tenha
+    private void liberarEncerradasLocalmente() {
+        Set<Long> emMemoria = new HashSet<>(apuracaoVotos.sessoesEmMemoria());
+        emMemoria.addAll(filaVotos.sessoesEmMemoria());
+        if (emMemoria.isEmpty()) {
+            return;
+        }
+        for (Long sessaoId : sessaoVotacaoRepository.listarEncerradas(emMemoria)) {
+            liberar(sessaoId, resultadoVotacaoRepository.findById(sessaoId).map(ResultadoVotacaoDTO::of).orElse(null));
+        }
+    }
+
+    private void liberar(Long sessaoId, ResultadoVotacaoDTO resultadoFinal) {
+        transmissaoResultados.encerrar(sessaoId, resultadoFinal);
+        apuracaoVotos.descartar(sessaoId);
+        filaVotos.descartar(sessaoId);
+    }
+}
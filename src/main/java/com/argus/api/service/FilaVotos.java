@@ -0,0 +1,342 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.repository.SessaoVotacaoRepository;
+import com.argus.api.repository.VotoLoteRepository;
+import com.argus.api.repository.VotoLoteRepository.VotoPendente;
+import com.argus.api.repository.VotoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ingestão assíncrona de votos. O voto é validado em memória contra a sessão (condomínio, data de fim) e o
+ * conjunto de quem já votou nela, sem ir ao banco, anexado a um diário em disco e confirmado ao cliente assim
+ * que o diário é sincronizado (fsync em grupo: uma sincronização cobre todas as escritas anteriores). Uma
+ * tarefa periódica grava os votos no banco em lotes JDBC e registra até onde o diário já foi gravado.
+ * <p>
+ * O conjunto e o diário são de cada instância e o conjunto só lê o banco na carga da sessão: um voto do mesmo
+ * usuário aceito por outra instância depois disso é confirmado aqui também, e o segundo a chegar ao banco é
+ * descartado pela restrição única uk_voto_sessao_usuario na gravação. É o preço de não consultar o banco a cada
+ * voto; o descarte é contado em argus.votos.descartados e registrado em log.
+ * <p>
+ * Na inicialização o diário é reaplicado a partir da última posição gravada, para que um voto excluído depois
+ * de gravado não volte; a restrição única torna idempotente a reaplicação do último lote.
+ */
+@Component
+public class FilaVotos {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaVotos.class);
+
+    private record Entrada(VotoPendente voto, long posicao) { }
+
+    private record SessaoAberta(Long condominioId, LocalDate dataFim, Set<Long> votantes) { }
+
+    private final VotoLoteRepository votoLoteRepository;
+    private final VotoRepository votoRepository;
+    private final SessaoVotacaoRepository sessaoVotacaoRepository;
+    private final ApuracaoVotos apuracaoVotos;
+    private final Counter votosGravados;
+    private final Counter votosDescartados;
+
+    @Value("${api.votacao.ingestao.assincrona:false}")
+    private boolean ativa;
+
+    @Value("${api.votacao.ingestao.diario:dados/votos.diario}")
+    private String arquivoDiario;
+
+    @Value("${api.votacao.ingestao.lote:500}")
+    private int tamanhoLote;
+
+    // Usuários que já votaram, por sessão; inclui votos ainda não gravados no banco
+    private final Map<Long, SessaoAberta> sessoes = new ConcurrentHashMap<>();
+    private final Deque<Entrada> pendentes = new ConcurrentLinkedDeque<>();
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final ReentrantLock sincronizacao = new ReentrantLock();
+    private final ReentrantLock descarga = new ReentrantLock();
+
+    private FileChannel diario;
+    // Posição, em bytes do diário, do fim do último voto gravado no banco
+    private FileChannel gravado;
+    // Posições lógicas no diário: só crescem, mesmo quando o arquivo é truncado
+    private volatile long escrito;
+    private volatile long sincronizado;
+    // Posição lógica do início do arquivo; muda só ao truncar, sob a trava de descarga
+    private long inicioArquivo;
+
+    public FilaVotos(VotoLoteRepository votoLoteRepository, VotoRepository votoRepository,
+                     SessaoVotacaoRepository sessaoVotacaoRepository, ApuracaoVotos apuracaoVotos,
+                     MeterRegistry meterRegistry) {
+        this.votoLoteRepository = votoLoteRepository;
+        this.votoRepository = votoRepository;
+        this.sessaoVotacaoRepository = sessaoVotacaoRepository;
+        this.apuracaoVotos = apuracaoVotos;
+        this.votosGravados = Counter.builder("argus.votos.gravados")
+                .description("Votos da fila de ingestão gravados no banco")
+                .register(meterRegistry);
+        this.votosDescartados = Counter.builder("argus.votos.descartados")
+                .description("Votos confirmados pela fila e descartados na gravação por já existir voto do usuário na sessão")
+                .register(meterRegistry);
+        meterRegistry.gauge("argus.votos.pendentes", pendentes, Deque::size);
+    }
+
+    public boolean ativa() {
+        return ativa;
+    }
+
+    @PostConstruct
+    void abrirDiario() throws IOException {
+        Path caminho = Path.of(arquivoDiario);
+        // Mesmo com a ingestão desligada, um diário deixado por uma execução anterior é reaplicado
+        if (!ativa && !Files.exists(caminho)) {
+            return;
+        }
+        if (caminho.getParent() != null) {
+            Files.createDirectories(caminho.getParent());
+        }
+        diario = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        gravado = FileChannel.open(Path.of(arquivoDiario + ".gravado"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Uma linha incompleta no fim (queda durante a escrita) nunca foi confirmada e é descartada
+        diario.truncate(reaplicar(caminho, lerPosicaoGravada()));
+        escrito = diario.size();
+        sincronizado = escrito;
+        diario.position(escrito);
+    }
+
+    // condominioId é o do usuário autenticado, ou null sem isolamento (ADMIN), como no filtro dos repositórios
+    public void enfileirar(Long sessaoId, Long usuarioId, Long condominioId, boolean voto) {
+        SessaoAberta sessao = sessoes.computeIfAbsent(sessaoId, this::carregarSessao);
+        // A sessão fica em memória depois da primeira carga, que pode ter sido feita por outro condomínio
+        if (condominioId != null && !condominioId.equals(sessao.condominioId())) {
+            throw new IllegalArgumentException("Sessão de votação não encontrada.");
+        }
+        if (sessao.dataFim().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Sessão de votação encerrada.");
+        }
+        Set<Long> jaVotaram = sessao.votantes();
+        if (!jaVotaram.add(usuarioId)) {
+            throw new IllegalArgumentException("Usuário já votou nesta sessão.");
+        }
+
+        long posicao;
+        try {
+            posicao = anexar(new VotoPendente(sessaoId, usuarioId, voto));
+        } catch (IOException e) {
+            jaVotaram.remove(usuarioId);
+            throw new UncheckedIOException("Não foi possível registrar o voto.", e);
+        }
+        sincronizar(posicao);
+    }
+
+    public void descartar(Long sessaoId) {
+        sessoes.remove(sessaoId);
+    }
+
+    public Set<Long> sessoesEmMemoria() {
+        return Set.copyOf(sessoes.keySet());
+    }
+
+    // Depois que um voto é excluído o usuário pode votar de novo
+    public void removerVotante(Long sessaoId, Long usuarioId) {
+        SessaoAberta sessao = sessoes.get(sessaoId);
+        if (sessao != null) {
+            sessao.votantes().remove(usuarioId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.votacao.ingestao.intervalo-ms:200}")
+    public void descarregar() {
+        if (diario == null) {
+            return;
+        }
+        descarga.lock();
+        try {
+            List<Entrada> lote;
+            while (!(lote = proximoLote()).isEmpty()) {
+                List<VotoPendente> votos = lote.stream().map(Entrada::voto).toList();
+                int[] linhas;
+                try {
+                    linhas = votoLoteRepository.inserir(votos);
+                } catch (RuntimeException e) {
+                    // Devolve o lote na ordem original e tenta de novo na próxima execução
+                    for (int i = lote.size() - 1; i >= 0; i--) {
+                        pendentes.addFirst(lote.get(i));
+                    }
+                    log.error("Falha ao gravar lote de {} votos; nova tentativa na próxima execução", votos.size(), e);
+                    return;
+                }
+                for (int i = 0; i < linhas.length; i++) {
+                    // 0 = voto repetido descartado pela restrição única
+                    if (linhas[i] != 0) {
+                        apuracaoVotos.registrar(votos.get(i).sessaoId(), votos.get(i).voto());
+                    } else {
+                        votosDescartados.increment();
+                        log.warn("Voto confirmado descartado na gravação: usuário {} já tem voto na sessão {}",
+                                votos.get(i).usuarioId(), votos.get(i).sessaoId());
+                    }
+                }
+                votosGravados.increment(votos.size());
+                try {
+                    registrarPosicaoGravada(lote.get(lote.size() - 1).posicao() - inicioArquivo);
+                } catch (IOException e) {
+                    // Sem a posição, uma reaplicação regrava o lote; a restrição única descarta os repetidos
+                    log.error("Falha ao registrar a posição gravada do diário de votos", e);
+                }
+            }
+            truncarSeVazio();
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    @PreDestroy
+    void fecharDiario() throws IOException {
+        if (diario != null) {
+            descarregar();
+            diario.close();
+            gravado.close();
+        }
+    }
+
+    private SessaoAberta carregarSessao(Long sessaoId) {
+        SessaoVotacao sessao = sessaoVotacaoRepository.findById(sessaoId)
+                .orElseThrow(() -> new IllegalArgumentException("Sessão de votação não encontrada."));
+        if (sessao.isEncerrada()) {
+            throw new IllegalArgumentException("Sessão de votação encerrada.");
+        }
+        Set<Long> jaVotaram = ConcurrentHashMap.newKeySet();
+        // A fila é lida antes do banco: um voto descarregado no meio aparece em pelo menos um dos dois
+        for (Entrada entrada : pendentes) {
+            if (entrada.voto().sessaoId().equals(sessaoId)) {
+                jaVotaram.add(entrada.voto().usuarioId());
+            }
+        }
+        jaVotaram.addAll(votoRepository.listarVotantes(sessaoId));
+        Long condominioId = sessao.getCondominio() != null ? sessao.getCondominio().getId() : null;
+        return new SessaoAberta(condominioId, sessao.getDataFim(), jaVotaram);
+    }
+
+    private long anexar(VotoPendente voto) throws IOException {
+        byte[] linha = (voto.sessaoId() + "," + voto.usuarioId() + "," + voto.voto() + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        escrita.lock();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(linha);
+            while (buffer.hasRemaining()) {
+                diario.write(buffer);
+            }
+            escrito += linha.length;
+            pendentes.addLast(new Entrada(voto, escrito));
+            return escrito;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Quem chega enquanto outra thread sincroniza aproveita o mesmo fsync
+    private void sincronizar(long posicao) {
+        if (sincronizado >= posicao) {
+            return;
+        }
+        sincronizacao.lock();
+        try {
+            if (sincronizado >= posicao) {
+                return;
+            }
+            long alvo = escrito;
+            diario.force(false);
+            sincronizado = alvo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível registrar o voto.", e);
+        } finally {
+            sincronizacao.unlock();
+        }
+    }
+
+    // Só vão para o banco votos já confirmados ao cliente
+    private List<Entrada> proximoLote() {
+        List<Entrada> lote = new ArrayList<>(tamanhoLote);
+        long limite = sincronizado;
+        Entrada entrada;
+        while (lote.size() < tamanhoLote && (entrada = pendentes.peekFirst()) != null && entrada.posicao() <= limite) {
+            lote.add(pendentes.pollFirst());
+        }
+        return lote;
+    }
+
+    private void truncarSeVazio() {
+        escrita.lock();
+        try {
+            if (pendentes.isEmpty() && sincronizado >= escrito && diario.size() > 0) {
+                // Diário antes da posição: uma queda entre os dois deixa a posição além do fim, lida como tudo gravado
+                diario.truncate(0);
+                diario.force(false);
+                inicioArquivo = escrito;
+                registrarPosicaoGravada(0);
+            }
+        } catch (IOException e) {
+            log.error("Falha ao truncar o diário de votos", e);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private void registrarPosicaoGravada(long posicao) throws IOException {
+        gravado.write(ByteBuffer.allocate(Long.BYTES).putLong(0, posicao), 0);
+        gravado.force(false);
+    }
+
+    private long lerPosicaoGravada() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        // Arquivo recém-criado: nada gravado ainda
+        if (gravado.read(buffer, 0) < Long.BYTES) {
+            return 0;
+        }
+        return buffer.getLong(0);
+    }
+
+    // Votos do diário depois da posição gravada já foram confirmados ao cliente e entram na fila como
+    // sincronizados. Retorna o tamanho em bytes das linhas completas
+    private long reaplicar(Path caminho, long posicaoGravada) throws IOException {
+        // Só há ASCII no diário: cada caractere é um byte e os índices da string são posições no arquivo
+        String conteudo = Files.readString(caminho, StandardCharsets.ISO_8859_1);
+        int completo = conteudo.lastIndexOf('\n') + 1;
+        int inicio = (int) Math.min(posicaoGravada, completo);
+        while (inicio < completo) {
+            int fim = conteudo.indexOf('\n', inicio) + 1;
+            String[] campos = conteudo.substring(inicio, fim - 1).split(",");
+            if (campos.length == 3) {
+                pendentes.addLast(new Entrada(new VotoPendente(Long.valueOf(campos[0]), Long.valueOf(campos[1]),
+                        Boolean.parseBoolean(campos[2])), fim));
+            }
+            inicio = fim;
+        }
+        return completo;
+    }
+}
@@ -1,83 +1,128 @@
 package com.argus.api.service;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.argus.api.domain.TipoNotificacao;
 import com.argus.api.domain.model.Comunicados;
 import com.argus.api.domain.model.Notificacoes;
 import com.argus.api.domain.model.Reservas;
 import com.argus.api.dto.NotificacaoDTO;
-import com.argus.api.repository.NotificacaoRepository;
+import com.argus.api.dto.PaginaDTO;
+import com.argus.api.infra.cache.CacheConfigurations;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.OutboxNotificacaoRepository;
 import com.argus.api.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
 public class NotificacoesService {
 
 	@Autowired
-	private NotificacaoRepository notificacaoRepository;
+	private UsuarioRepository usuarioRepository;
 
 	@Autowired
-	private UsuarioRepository usuarioRepository;
+	private OutboxNotificacaoRepository outboxRepository;
 
-	public NotificacaoDTO criarNotificacaoComunicado(Comunicados comunicado) {
-		Notificacoes notificacao = new Notificacoes();
-		notificacao.setTitulo("Novo Comunicado: " + comunicado.getTitulo());
-		notificacao.setCorpoDeTexto("Um novo comunicado foi publicado: " + comunicado.getMensagem());
-		notificacao.setComunicado(comunicado); 
+	@Autowired
+	private CaixaNotificacaoRepository caixaNotificacaoRepository;
 
-		Notificacoes novaNotificacao = notificacaoRepository.save(notificacao);
-		System.out.println("[DEBUG] [criarNotificacaoTodos] Notificação criada e associada ao comunicado ID: " + comunicado.getId());
+	@Autowired
+	private CacheManager cacheManager;
 
-		return toDTO(novaNotificacao);
+	// As notificações são criadas pelo DespachoNotificacoes; aqui só o evento é gravado, na transação de origem
+	public void agendarNotificacaoComunicado(Comunicados comunicado) {
+		outboxRepository.registrar(TipoNotificacao.COMUNICADO, comunicado.getId(), comunicado.getCondominio().getId());
 	}
 
-	public NotificacaoDTO criarNotificacaoReserva(Reservas reserva) {
-	    Notificacoes notificacao = new Notificacoes();
-	    notificacao.setTitulo("Nova Reserva: " + reserva.getAreasComuns().getNome());
-	    notificacao.setCorpoDeTexto(
-	        "Reserva para a área " + reserva.getAreasComuns().getNome() + 
-	        " em " + reserva.getDataReserva() + 
-	        " das " + reserva.getHoraInicio() + 
-	        " até " + reserva.getHoraFim()
-	    );
-	    notificacao.setReserva(reserva);
-
-	    // Salva a notificação no banco
-	    Notificacoes novaNotificacao = notificacaoRepository.save(notificacao);
-	    System.out.println("[DEBUG] [criarNotificacaoReserva] Notificação criada para a reserva ID: " + reserva.getId());
-
-	    return toDTO(novaNotificacao);
+	public void agendarNotificacaoReserva(Reservas reserva) {
+		outboxRepository.registrar(TipoNotificacao.RESERVA, reserva.getId(),
+				reserva.getAreasComuns().getCondominio().getId());
 	}
 
+	public Notificacoes montarNotificacao(Comunicados comunicado) {
+		Notificacoes notificacao = new Notificacoes();
+		notificacao.setTitulo("Novo Comunicado: " + comunicado.getTitulo());
+		notificacao.setCorpoDeTexto("Um novo comunicado foi publicado: " + comunicado.getMensagem());
+		notificacao.setComunicado(comunicado);
+		return notificacao;
+	}
 
+	public Notificacoes montarNotificacao(Reservas reserva) {
+		Notificacoes notificacao = new Notificacoes();
+		notificacao.setTitulo("Nova Reserva: " + reserva.getAreasComuns().getNome());
+		notificacao.setCorpoDeTexto(
+				"Reserva para a área " + reserva.getAreasComuns().getNome() +
+				" em " + reserva.getDataReserva() +
+				" das " + reserva.getHoraInicio() +
+				" até " + reserva.getHoraFim()
+		);
+		notificacao.setReserva(reserva);
+		return notificacao;
+	}
 
+	// Feed do usuário do mais novo para o mais antigo; "after" é o id da última notificação da página anterior
+	@Transactional(readOnly = true)
+	public PaginaDTO<NotificacaoDTO> listarCaixaDeEntrada(Long usuarioId, Long after, Integer limit) {
+		int limite = PaginaDTO.limiteEfetivo(limit);
+		List<NotificacaoDTO> notificacoes = caixaNotificacaoRepository.listar(
+				usuarioId, after != null ? after : Long.MAX_VALUE, limite + 1);
+		return PaginaDTO.of(notificacoes, limite, NotificacaoDTO::id);
+	}
 
-	public List<NotificacaoDTO> buscarUltimasNotificacoes() {
-		List<Notificacoes> notificacoes = notificacaoRepository.findTop10ByOrderByIdDesc();
-		List<NotificacaoDTO> notificacoesDTO = new ArrayList<>();
+	// sync: a contagem roda dentro do cálculo atômico do cache, então uma invalidação concorrente espera a carga
+	// terminar e a descarta, em vez de ser sobrescrita por um total lido antes de um fan-out confirmar
+	@Cacheable(cacheNames = CacheConfigurations.NOTIFICACOES_NAO_LIDAS, key = "#usuarioId", sync = true)
+	public Long contarNaoLidas(Long usuarioId) {
+		return caixaNotificacaoRepository.contarNaoLidas(usuarioId);
+	}
 
-		for (Notificacoes notificacao : notificacoes) {
-			notificacoesDTO.add(toDTO(notificacao));
+	public void marcarComoLida(Long usuarioId, Long notificacaoId) {
+		if (caixaNotificacaoRepository.marcarLida(usuarioId, notificacaoId) == 1) {
+			invalidarNaoLidas(List.of(usuarioId));
 		}
+	}
+
+	public void marcarTodasComoLidas(Long usuarioId) {
+		caixaNotificacaoRepository.marcarTodasLidas(usuarioId);
+		invalidarNaoLidas(List.of(usuarioId));
+	}
+
+	// Chamado depois que a mudança na caixa de entrada foi confirmada. O contador não é ajustado no lugar, porque
+	// o ajuste pode correr com uma contagem que já inclui a mudança; é recontado na próxima leitura
+	public void invalidarNaoLidas(Collection<Long> usuarios) {
+		cacheNaoLidas().invalidateAll(usuarios);
+	}
 
-		return notificacoesDTO;
+	@SuppressWarnings("unchecked")
+	private Cache<Object, Object> cacheNaoLidas() {
+		return (Cache<Object, Object>) cacheManager
+				.getCache(CacheConfigurations.NOTIFICACOES_NAO_LIDAS).getNativeCache();
 	}
 
-	public boolean deletarNotificacao(Long id) {
-		if (notificacaoRepository.existsById(id)) {
-			notificacaoRepository.deleteById(id);
-			return true;  
-		} else {
-			return false; 
+	// Tira a notificação só da caixa de entrada do usuário; a dos outros moradores continua, e a notificação
+	// em si sai pela retenção
+	public boolean deletarNotificacao(Long usuarioId, Long notificacaoId) {
+		if (caixaNotificacaoRepository.remover(usuarioId, notificacaoId) == 0) {
+			return false;
 		}
+		invalidarNaoLidas(List.of(usuarioId));
+		return true;
 	}
 
+	// Notificações recém-criadas ainda não foram lidas por ninguém
 	public NotificacaoDTO toDTO(Notificacoes notificacao) {
 		return new NotificacaoDTO(
+				notificacao.getId(),
 				notificacao.getTitulo(),
-				notificacao.getCorpoDeTexto()		);
+				notificacao.getCorpoDeTexto(),
+				notificacao.getData(),
+				false);
 	}
 }
@@ -3,21 +3,28 @@ package com.argus.api.service;
 import com.argus.api.domain.model.Ocorrencias;
 import com.argus.api.domain.model.Usuarios;
 import com.argus.api.dto.OcorrenciasDTO;
+import com.argus.api.dto.PaginaDTO;
+import com.argus.api.infra.exportacao.EscritorExportacao;
 import com.argus.api.repository.OcorrenciasRepository;
 import com.argus.api.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OcorrenciasService {
     private final OcorrenciasRepository ocorrenciasRepository;
     private final UsuarioRepository usuarioRepository;
+    private final EscritorExportacao escritorExportacao;
 
     @Transactional
     public OcorrenciasDTO criarOcorrencia(OcorrenciasDTO ocorrenciaDTO) {
@@ -36,12 +43,24 @@ public class OcorrenciasService {
         return converterParaDTO(salva);
     }
 
-    public List<OcorrenciasDTO> listarTodasOcorrencias() {
-        return ocorrenciasRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public PaginaDTO<OcorrenciasDTO> listarTodasOcorrencias(Long after, Integer limit) {
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<OcorrenciasDTO> dtos = ocorrenciasRepository.findByIdGreaterThanOrderByIdAsc(
+                        PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1)).stream()
                 .map(this::converterParaDTO)
                 .collect(Collectors.toList());
+        return PaginaDTO.of(dtos, limite, OcorrenciasDTO::getId);
     }
 
+    @Transactional(readOnly = true)
+    public void exportarOcorrencias(EscritorExportacao.Formato formato, OutputStream saida) throws IOException {
+        try (Stream<OcorrenciasDTO> ocorrencias = ocorrenciasRepository.exportar()) {
+            escritorExportacao.escrever(ocorrencias, formato, saida);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public OcorrenciasDTO buscarOcorrenciaPorId(Long id) {
         Ocorrencias ocorrencia = ocorrenciasRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ocorrência não encontrada"));
@@ -69,7 +88,7 @@ public class OcorrenciasService {
         ocorrenciasRepository.deleteById(id);
     }
 
-    private OcorrenciasDTO converterParaDTO(Ocorrencias ocorrencia) {
+    OcorrenciasDTO converterParaDTO(Ocorrencias ocorrencia) {
         OcorrenciasDTO dto = new OcorrenciasDTO();
         dto.setId(ocorrencia.getId());
         dto.setTitulo(ocorrencia.getTitulo());
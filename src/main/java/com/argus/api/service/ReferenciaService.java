@@ -0,0 +1,83 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.event.AreaComumAlteradaEvent;
+import com.argus.api.domain.event.CondominioAlteradoEvent;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.infra.cache.CacheConfigurations;
+import com.argus.api.infra.tenant.CondominioAtual;
+import com.argus.api.repository.AreasComunsRepository;
+import com.argus.api.repository.CondominioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Resolve condomínios e áreas comuns pelo nome usando um cache em memória. As entidades em cache ficam
+ * desanexadas e servem como referência de chave estrangeira nas gravações, sem um select extra. O cache é
+ * invalidado pelos eventos publicados em CondominioService e AreasComunsService, depois da confirmação da
+ * transação: antes dela uma leitura concorrente ainda veria a linha antiga e a colocaria de volta no cache.
+ * Buscas sem resultado não são guardadas.
+ */
+@Service
+public class ReferenciaService {
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private AreasComunsRepository areasComunsRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfigurations.CONDOMINIOS_POR_NOME, key = "#nome",
+            condition = "#nome != null", unless = "#result == null")
+    public Optional<Condominio> buscarCondominioPorNome(String nome) {
+        return condominioRepository.findByNome(nome);
+    }
+
+    // Nomes de área se repetem entre condomínios: a chave inclui o condomínio do usuário, como o filtro da consulta
+    @Cacheable(cacheNames = CacheConfigurations.AREAS_COMUNS_POR_NOME,
+            key = "T(com.argus.api.infra.tenant.CondominioAtual).chaveCache(#nome)",
+            condition = "#nome != null", unless = "#result == null")
+    public Optional<AreasComuns> buscarAreaComumPorNome(String nome) {
+        return areasComunsRepository.findByNome(nome);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void condominioAlterado(CondominioAlteradoEvent event) {
+        remover(CacheConfigurations.CONDOMINIOS_POR_NOME, event.nomes());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void areaComumAlterada(AreaComumAlteradaEvent event) {
+        List<String> chaves = new ArrayList<>();
+        for (String nome : event.nomes()) {
+            if (nome != null) {
+                chaves.add(CondominioAtual.chaveCache(event.condominioId(), nome));
+                chaves.add(CondominioAtual.chaveCache(null, nome));
+            }
+        }
+        remover(CacheConfigurations.AREAS_COMUNS_POR_NOME, chaves);
+    }
+
+    private void remover(String nomeCache, List<String> nomes) {
+        Cache cache = cacheManager.getCache(nomeCache);
+        if (cache == null) {
+            return;
+        }
+        nomes.stream()
+                .filter(Objects::nonNull)
+                .forEach(cache::evict);
+    }
+}
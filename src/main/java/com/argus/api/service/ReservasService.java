@@ -1,17 +1,25 @@
 package com.argus.api.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.argus.api.domain.model.AreasComuns;
 import com.argus.api.domain.model.Reservas;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.dto.ReservasDTO;
-import com.argus.api.repository.AreasComunsRepository;
+import com.argus.api.infra.exportacao.EscritorExportacao;
+import com.argus.api.repository.ReservaSlotRepository;
 import com.argus.api.repository.ReservasRepository;
+import io.micrometer.core.annotation.Timed;
 
 @Service
 public class ReservasService {
@@ -20,50 +28,70 @@ public class ReservasService {
     ReservasRepository reservasRepository;
 
     @Autowired
-    AreasComunsRepository areasComunsRepository;
+    ReferenciaService referenciaService;
     
     @Autowired
     private NotificacoesService notificacoesService;
 
+    @Autowired
+    private AgendaReservas agendaReservas;
+
+    @Autowired
+    private ReservaSlotRepository reservaSlotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EscritorExportacao escritorExportacao;
+
+    @Timed("argus.servico")
     public ReservasDTO reservarArea(ReservasDTO reservasDTO) {
 
-        AreasComuns areasComuns = areasComunsRepository.findByNome(reservasDTO.areaNome())
+        AreasComuns areasComuns = referenciaService.buscarAreaComumPorNome(reservasDTO.areaNome())
                 .orElseThrow(() -> new RuntimeException("Área não encontrada."));
 
         if (!areasComuns.getDisponivel()) {
             throw new RuntimeException("No momento não está disponível");
         }
 
-        if (reservasRepository.findByAreasComunsAndDataReservaAndHoraInicioBetween(
-                areasComuns, reservasDTO.dataReserva(), reservasDTO.horaInicio(), reservasDTO.horaFim()).isPresent()) {
-            throw new RuntimeException("Área já reservada para essa data e horário.");
+        if (!reservasDTO.horaFim().isAfter(reservasDTO.horaInicio())) {
+            throw new RuntimeException("O horário final deve ser posterior ao horário inicial.");
         }
 
-        Reservas reservas = new Reservas();
-        reservas.setAreasComuns(areasComuns);
-        reservas.setDataReserva(reservasDTO.dataReserva());
-        reservas.setHoraInicio(reservasDTO.horaInicio());
-        reservas.setHoraFim(reservasDTO.horaFim());
-
-        reservasRepository.save(reservas);
-        
-        notificacoesService.criarNotificacaoReserva(reservas);
-
+        // A reserva e seus slots são gravados na mesma transação; a chave primária dos slots barra
+        // reservas sobrepostas feitas por outra instância da API
+        Reservas reservas = agendaReservas.reservar(areasComuns.getId(), reservasDTO.dataReserva(),
+                reservasDTO.horaInicio(), reservasDTO.horaFim(), () -> transactionTemplate.execute(status -> {
+                    Reservas nova = new Reservas();
+                    nova.setAreasComuns(areasComuns);
+                    nova.setDataReserva(reservasDTO.dataReserva());
+                    nova.setHoraInicio(reservasDTO.horaInicio());
+                    nova.setHoraFim(reservasDTO.horaFim());
+                    reservasRepository.saveAndFlush(nova);
+                    reservaSlotRepository.ocupar(areasComuns.getId(), nova.getDataReserva(),
+                            AgendaReservas.slotInicial(nova.getHoraInicio()),
+                            AgendaReservas.slotFinal(nova.getHoraFim()), nova.getId());
+                    notificacoesService.agendarNotificacaoReserva(nova);
+                    return nova;
+                }));
 
         return convertToDTO(reservas);
     }
 
-    public List<ReservasDTO> listarTodasReservas() {
-        List<Reservas> reservas = reservasRepository.findAll();
-
-        return reservas.stream()
-                .map(reserva -> new ReservasDTO(
-                        reserva.getId(),
-                        reserva.getAreasComuns().getNome(),
-                        reserva.getDataReserva(),
-                        reserva.getHoraInicio(),
-                        reserva.getHoraFim()))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<ReservasDTO> listarTodasReservas(Long after, Integer limit) {
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<ReservasDTO> reservas = reservasRepository.listarPagina(
+                PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1));
+        return PaginaDTO.of(reservas, limite, ReservasDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarReservas(EscritorExportacao.Formato formato, OutputStream saida) throws IOException {
+        try (Stream<ReservasDTO> reservas = reservasRepository.exportar()) {
+            escritorExportacao.escrever(reservas, formato, saida);
+        }
     }
 
     public String excluirReserva(Long reservaId) {
@@ -71,7 +99,8 @@ public class ReservasService {
         Reservas reserva = reservasRepository.findById(reservaId)
                 .orElseThrow(() -> new RuntimeException("Reserva não encontrada."));
 
-        reservasRepository.delete(reserva);
+        agendaReservas.liberar(reserva.getAreasComuns().getId(), reserva.getDataReserva(), reserva.getId(),
+                () -> reservasRepository.delete(reserva));
 
         String mensagem = "A reserva da área " + reserva.getAreasComuns().getNome() +
                 " para a data " + reserva.getDataReserva().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) +
@@ -82,7 +111,7 @@ public class ReservasService {
         return mensagem;
     }
 
-    private ReservasDTO convertToDTO(Reservas reservas) {
+    ReservasDTO convertToDTO(Reservas reservas) {
         return new ReservasDTO(
                 reservas.getId(),
                 reservas.getAreasComuns().getNome(),
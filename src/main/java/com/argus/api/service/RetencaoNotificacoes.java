@@ -0,0 +1,220 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoNotificacao;
+import com.argus.api.repository.LeaseRepository;
+import com.argus.api.repository.RetencaoNotificacaoRepository;
+import com.argus.api.repository.RetencaoNotificacaoRepository.NotificacaoExpirada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Remove as notificações mais antigas que o prazo de retenção do seu tipo, em lotes pequenos percorridos por
+ * faixa de id. Quando a política pede arquivamento, cada lote é gravado e sincronizado num arquivo NDJSON
+ * compactado antes de ser removido do banco; uma falha no meio pode repetir linhas no arquivo, mas não perdê-las.
+ */
+@Component
+public class RetencaoNotificacoes {
+
+    static final String TAREFA = "retencao-notificacoes";
+
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    record Politica(TipoNotificacao tipo, Duration prazo, boolean arquivar) {
+    }
+
+    private final RetencaoNotificacaoRepository retencaoRepository;
+    private final LeaseRepository leaseRepository;
+    private final NotificacoesService notificacoesService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer tempoLote;
+    private final AtomicLong faixaRestante = new AtomicLong();
+
+    @Value("${api.notificacoes.retencao.comunicado.prazo:365d}")
+    private Duration prazoComunicado;
+
+    @Value("${api.notificacoes.retencao.comunicado.arquivar:true}")
+    private boolean arquivarComunicado;
+
+    @Value("${api.notificacoes.retencao.reserva.prazo:90d}")
+    private Duration prazoReserva;
+
+    @Value("${api.notificacoes.retencao.reserva.arquivar:false}")
+    private boolean arquivarReserva;
+
+    @Value("${api.notificacoes.retencao.lote:200}")
+    private int tamanhoLote;
+
+    // Linhas de caixa de entrada removidas por comando; cada notificação tem uma por morador do condomínio
+    @Value("${api.notificacoes.retencao.lote-caixa:5000}")
+    private int tamanhoLoteCaixa;
+
+    // Intervalo entre lotes, para não competir com o tráfego nem atrasar as réplicas
+    @Value("${api.notificacoes.retencao.pausa:100ms}")
+    private Duration pausa;
+
+    @Value("${api.notificacoes.retencao.lease:5m}")
+    private Duration duracaoLease;
+
+    @Value("${api.notificacoes.retencao.diretorio:dados/arquivo-notificacoes}")
+    private Path diretorio;
+
+    public RetencaoNotificacoes(RetencaoNotificacaoRepository retencaoRepository, LeaseRepository leaseRepository,
+                                NotificacoesService notificacoesService, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.retencaoRepository = retencaoRepository;
+        this.leaseRepository = leaseRepository;
+        this.notificacoesService = notificacoesService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.tempoLote = Timer.builder("argus.notificacoes.retencao.lote")
+                .description("Tempo para arquivar e remover um lote de notificações expiradas")
+                .register(meterRegistry);
+        meterRegistry.gauge("argus.notificacoes.retencao.faixa-restante", faixaRestante);
+    }
+
+    @Scheduled(cron = "${api.notificacoes.retencao.cron:0 30 3 * * *}")
+    public void executar() {
+        if (!leaseRepository.adquirir(TAREFA, duracaoLease)) {
+            return;
+        }
+        try {
+            for (Politica politica : politicas()) {
+                if (!aplicar(politica)) {
+                    return;
+                }
+            }
+        } finally {
+            faixaRestante.set(0);
+            leaseRepository.liberar(TAREFA);
+        }
+    }
+
+    private List<Politica> politicas() {
+        return List.of(
+                new Politica(TipoNotificacao.COMUNICADO, prazoComunicado, arquivarComunicado),
+                new Politica(TipoNotificacao.RESERVA, prazoReserva, arquivarReserva));
+    }
+
+    // Retorna false se a concessão foi perdida no meio da passada
+    private boolean aplicar(Politica politica) {
+        if (politica.prazo().isZero()) {
+            return true;
+        }
+        LocalDate corte = LocalDate.now().minusDays(politica.prazo().toDays());
+        long ate = retencaoRepository.ultimoIdAntesDe(corte);
+        Counter removidas = Counter.builder("argus.notificacoes.retencao.removidas")
+                .tag("tipo", politica.tipo().name().toLowerCase(Locale.ROOT))
+                .tag("acao", politica.arquivar() ? "arquivada" : "excluida")
+                .register(meterRegistry);
+
+        long cursor = 0;
+        try (Arquivo arquivo = politica.arquivar() ? new Arquivo(politica.tipo()) : null) {
+            while (cursor < ate) {
+                faixaRestante.set(ate - cursor);
+                List<NotificacaoExpirada> lote = retencaoRepository.listarLote(politica.tipo(), cursor, ate, corte, tamanhoLote);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                tempoLote.record(() -> {
+                    if (arquivo != null) {
+                        arquivo.gravar(lote);
+                    }
+                    remover(lote.stream().map(NotificacaoExpirada::id).toList());
+                });
+                removidas.increment(lote.size());
+                cursor = lote.get(lote.size() - 1).id();
+
+                if (!pausar() || !leaseRepository.adquirir(TAREFA, duracaoLease)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void remover(List<Long> ids) {
+        List<Long> comNaoLidas = retencaoRepository.listarUsuariosComNaoLidas(ids);
+        int removidasDasCaixas;
+        do {
+            removidasDasCaixas = retencaoRepository.removerDasCaixas(ids, tamanhoLoteCaixa);
+        } while (removidasDasCaixas == tamanhoLoteCaixa);
+        retencaoRepository.remover(ids);
+        notificacoesService.invalidarNaoLidas(comNaoLidas);
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausa.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Um arquivo por tipo e por execução, criado só quando há o que arquivar
+    private final class Arquivo implements Closeable {
+
+        private final TipoNotificacao tipo;
+        private FileOutputStream arquivo;
+        private GZIPOutputStream saida;
+
+        Arquivo(TipoNotificacao tipo) {
+            this.tipo = tipo;
+        }
+
+        void gravar(List<NotificacaoExpirada> lote) {
+            try {
+                if (saida == null) {
+                    Files.createDirectories(diretorio);
+                    Path caminho = diretorio.resolve("notificacoes-" + tipo.name().toLowerCase(Locale.ROOT) + "-"
+                            + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".ndjson.gz");
+                    arquivo = new FileOutputStream(caminho.toFile());
+                    saida = new GZIPOutputStream(arquivo, true);
+                }
+                for (NotificacaoExpirada notificacao : lote) {
+                    saida.write(objectMapper.writeValueAsBytes(notificacao));
+                    saida.write('\n');
+                }
+                // O lote só é removido do banco depois de estar no disco
+                saida.flush();
+                arquivo.getFD().sync();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao arquivar notificações.", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (saida == null) {
+                return;
+            }
+            try {
+                saida.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao fechar o arquivo de notificações.", e);
+            }
+        }
+    }
+}
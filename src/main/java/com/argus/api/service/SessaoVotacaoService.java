@@ -1,31 +1,51 @@
 package com.argus.api.service;
 
 import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.ResultadoVotacao;
 import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.dto.PaginaDTO;
+import com.argus.api.dto.ResultadoVotacaoDTO;
 import com.argus.api.dto.SessaoVotacaoDTO;
+import com.argus.api.infra.tenant.CondominioAtual;
 import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.ResultadoVotacaoRepository;
 import com.argus.api.repository.SessaoVotacaoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class SessaoVotacaoService {
 
     private final SessaoVotacaoRepository sessaoVotacaoRepository;
     private final CondominioRepository condominioRepository;
+    private final ReferenciaService referenciaService;
+    private final ApuracaoVotos apuracaoVotos;
+    private final FilaVotos filaVotos;
+    private final TransmissaoResultados transmissaoResultados;
+    private final ResultadoVotacaoRepository resultadoVotacaoRepository;
 
     @Autowired
-    public SessaoVotacaoService(SessaoVotacaoRepository sessaoVotacaoRepository, CondominioRepository condominioRepository) {
+    public SessaoVotacaoService(SessaoVotacaoRepository sessaoVotacaoRepository, CondominioRepository condominioRepository,
+                                ReferenciaService referenciaService, ApuracaoVotos apuracaoVotos, FilaVotos filaVotos,
+                                TransmissaoResultados transmissaoResultados,
+                                ResultadoVotacaoRepository resultadoVotacaoRepository) {
         this.sessaoVotacaoRepository = sessaoVotacaoRepository;
         this.condominioRepository = condominioRepository;
+        this.referenciaService = referenciaService;
+        this.apuracaoVotos = apuracaoVotos;
+        this.filaVotos = filaVotos;
+        this.transmissaoResultados = transmissaoResultados;
+        this.resultadoVotacaoRepository = resultadoVotacaoRepository;
     }
 
     public SessaoVotacaoDTO criarSessao(SessaoVotacaoDTO sessaoVotacaoDTO) {
-        Optional<Condominio> condominioOptional = condominioRepository.findByNome(sessaoVotacaoDTO.condominioNome());
+        Optional<Condominio> condominioOptional = referenciaService.buscarCondominioPorNome(sessaoVotacaoDTO.condominioNome());
 
         Condominio condominio;
         if (condominioOptional.isPresent()) {
@@ -48,26 +68,58 @@ public class SessaoVotacaoService {
         return convertToDTO(sessaoSalva);
     }
 
-    public List<SessaoVotacaoDTO> listarTodasSessoes() {
-        List<SessaoVotacao> sessoes = sessaoVotacaoRepository.findAll();
-        return sessoes.stream()
-                .map(this::convertToDTO) 
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<SessaoVotacaoDTO> listarTodasSessoes(Long after, Integer limit) {
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<SessaoVotacaoDTO> sessoes = sessaoVotacaoRepository.listarPagina(
+                PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1));
+        return PaginaDTO.of(sessoes, limite, SessaoVotacaoDTO::id);
     }
     
+    @Transactional(readOnly = true)
     public SessaoVotacaoDTO buscarSessaoPorId(Long id) {
         SessaoVotacao sessaoVotacao = sessaoVotacaoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Sessão de votação não encontrada com ID: " + id));
         return convertToDTO(sessaoVotacao);
     }
 
+    // Sessão aberta com a apuração em memória: sem consulta ao banco. Sessão encerrada: uma linha de resultado_votacao
+    public ResultadoVotacaoDTO buscarResultado(Long id) {
+        // A apuração em memória e resultado_votacao não passam pelo filtro de condomínio: a sessão é conferida antes
+        if (CondominioAtual.idParaFiltro() != null && !sessaoVotacaoRepository.existsById(id)) {
+            throw new RuntimeException("Sessão de votação não encontrada com ID: " + id);
+        }
+        if (apuracaoVotos.emMemoria(id)) {
+            return apuracaoVotos.resultado(id);
+        }
+        Optional<ResultadoVotacao> resultadoFinal = resultadoVotacaoRepository.findById(id);
+        if (resultadoFinal.isPresent()) {
+            return ResultadoVotacaoDTO.of(resultadoFinal.get());
+        }
+        if (!sessaoVotacaoRepository.existsById(id)) {
+            throw new RuntimeException("Sessão de votação não encontrada com ID: " + id);
+        }
+        return apuracaoVotos.resultado(id);
+    }
+
+    public SseEmitter acompanharResultado(Long id) {
+        ResultadoVotacaoDTO resultado = buscarResultado(id);
+        if (resultado.encerrada()) {
+            return transmissaoResultados.resultadoFinal(resultado);
+        }
+        return transmissaoResultados.assinar(id);
+    }
+
     public void deletarSessao(Long id) {
         SessaoVotacao sessao = sessaoVotacaoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Sessão de votação não encontrada com ID: " + id));
         sessaoVotacaoRepository.delete(sessao);
+        transmissaoResultados.encerrar(id, null);
+        apuracaoVotos.descartar(id);
+        filaVotos.descartar(id);
     }
 
-    private SessaoVotacaoDTO convertToDTO(SessaoVotacao sessaoVotacao) {
+    SessaoVotacaoDTO convertToDTO(SessaoVotacao sessaoVotacao) {
         return new SessaoVotacaoDTO(
                 sessaoVotacao.getId(),
                 sessaoVotacao.getProposta(),
@@ -0,0 +1,318 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.dto.NotificacaoDTO;
+import com.argus.api.exception.LimiteConexoesException;
+import com.argus.api.infra.security.UsuarioAutenticado;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.CaixaNotificacaoRepository.NotificacaoCondominio;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega as notificações novas por Server-Sent Events aos moradores conectados do condomínio de origem.
+ * O despacho do outbox roda numa única instância, mas os moradores ficam conectados em qualquer uma: cada
+ * instância com conexões lê do banco as notificações criadas depois da última que publicou. Na instância que
+ * despacha, a leitura é disparada logo após a confirmação, sem esperar o próximo ciclo.
+ * Cada evento é serializado uma única vez e enfileirado nas conexões; um pool pequeno esvazia as filas, ou uma
+ * thread virtual por esvaziamento quando a aplicação roda em threads virtuais.
+ * A fila de cada conexão é limitada: um cliente que não acompanha é desconectado e, ao reconectar com
+ * Last-Event-ID, recebe da caixa de entrada o que perdeu.
+ */
+@Component
+@Order(1)
+public class TransmissaoNotificacoes implements CanalEntregaNotificacoes, DisposableBean {
+
+    private static final String EVENTO = "notificacao";
+
+    private static final class Conexao {
+        final Long condominioId;
+        final SseEmitter emitter;
+        final Queue<Set<DataWithMediaType>> fila = new ConcurrentLinkedQueue<>();
+        // Eventos na fila; quem leva de 0 para 1 agenda o esvaziamento, então há no máximo uma tarefa por conexão
+        final AtomicInteger pendentes = new AtomicInteger();
+        final AtomicBoolean fechada = new AtomicBoolean();
+
+        Conexao(Long condominioId, SseEmitter emitter) {
+            this.condominioId = condominioId;
+            this.emitter = emitter;
+        }
+    }
+
+    private final CaixaNotificacaoRepository caixaNotificacaoRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Conexao>> conexoesPorCondominio = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConexoes = new AtomicInteger();
+    private final Executor executor;
+    private final Counter enviadas;
+    private final Counter descartadas;
+    private final Counter desconectadasPorAtraso;
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("ping").build();
+    private final ReentrantLock sincronizacao = new ReentrantLock();
+    // Id da última notificação publicada; nulo enquanto a instância não tem conexões. Protegido por sincronizacao
+    private Long ultimaPublicada;
+
+    @Value("${api.notificacoes.push.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${api.notificacoes.push.capacidade-fila:64}")
+    private int capacidadeFila;
+
+    @Value("${api.notificacoes.push.maximo-conexoes:50000}")
+    private int maximoConexoes;
+
+    @Value("${api.notificacoes.push.lote-sincronizacao:500}")
+    private int loteSincronizacao;
+
+    public TransmissaoNotificacoes(CaixaNotificacaoRepository caixaNotificacaoRepository, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry, Environment environment,
+                                   @Value("${api.notificacoes.push.threads:4}") int threads) {
+        this.caixaNotificacaoRepository = caixaNotificacaoRepository;
+        this.objectMapper = objectMapper;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Um cliente lento bloqueia só a própria thread virtual, não um dos poucos threads do pool
+            this.executor = new VirtualThreadTaskExecutor("push-notificacoes-");
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory());
+            new ExecutorServiceMetrics(pool, "push-notificacoes", Tags.empty()).bindTo(meterRegistry);
+            this.executor = pool;
+        }
+
+        meterRegistry.gauge("argus.notificacoes.push.conexoes", totalConexoes);
+        this.enviadas = Counter.builder("argus.notificacoes.push.enviadas")
+                .description("Eventos de notificação escritos nas conexões")
+                .register(meterRegistry);
+        this.descartadas = Counter.builder("argus.notificacoes.push.descartadas")
+                .description("Eventos descartados porque a fila da conexão estava cheia ou a conexão caiu")
+                .register(meterRegistry);
+        this.desconectadasPorAtraso = Counter.builder("argus.notificacoes.push.desconectadas")
+                .tag("motivo", "fila-cheia")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter assinar(UsuarioAutenticado usuario, Long ultimoEventoId) {
+        if (usuario.getCondominioId() == null) {
+            throw new IllegalArgumentException("Usuário sem condomínio não recebe notificações.");
+        }
+        if (totalConexoes.incrementAndGet() > maximoConexoes) {
+            totalConexoes.decrementAndGet();
+            throw new LimiteConexoesException("Limite de conexões atingido, tente novamente em instantes.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Conexao conexao = new Conexao(usuario.getCondominioId(), emitter);
+        // Dentro do compute: fechar não tira o conjunto do mapa entre a busca e a inclusão
+        conexoesPorCondominio.compute(conexao.condominioId, (id, conexoes) -> {
+            Set<Conexao> atuais = conexoes != null ? conexoes : ConcurrentHashMap.newKeySet();
+            atuais.add(conexao);
+            return atuais;
+        });
+        emitter.onCompletion(() -> fechar(conexao));
+        emitter.onTimeout(() -> fechar(conexao));
+        emitter.onError(erro -> fechar(conexao));
+        iniciarSincronizacao();
+
+        // O primeiro ping abre o stream no cliente mesmo sem notificações pendentes
+        enfileirar(conexao, heartbeat);
+
+        // Reconexão do EventSource: reenvia o que chegou na caixa de entrada depois do último evento recebido.
+        // O reenvio cabe na fila; um atraso maior que isso o cliente recupera pela listagem da caixa de entrada
+        if (ultimoEventoId != null) {
+            for (NotificacaoDTO notificacao : caixaNotificacaoRepository.listarApos(usuario.getId(), ultimoEventoId, capacidadeFila - 1)) {
+                enfileirar(conexao, evento(notificacao));
+            }
+        }
+        return emitter;
+    }
+
+    @Override
+    public void entregar(Long condominioId, List<Notificacoes> notificacoes) {
+        if (conexoesPorCondominio.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(TransmissaoNotificacoes.this::sincronizar);
+            }
+        });
+    }
+
+    // Os ids das notificações crescem na ordem de criação, então o cursor não pula nenhuma confirmada
+    @Scheduled(fixedDelayString = "${api.notificacoes.push.sincronizacao-ms:1000}")
+    public void sincronizar() {
+        sincronizacao.lock();
+        try {
+            if (conexoesPorCondominio.isEmpty()) {
+                ultimaPublicada = null;
+                return;
+            }
+            if (ultimaPublicada == null) {
+                ultimaPublicada = caixaNotificacaoRepository.ultimaNotificacao();
+                return;
+            }
+            List<NotificacaoCondominio> novas;
+            do {
+                novas = caixaNotificacaoRepository.listarNovas(ultimaPublicada, loteSincronizacao);
+                for (NotificacaoCondominio nova : novas) {
+                    publicar(nova.condominioId(), evento(nova.notificacao()));
+                    ultimaPublicada = nova.notificacao().id();
+                }
+            } while (novas.size() == loteSincronizacao);
+        } finally {
+            sincronizacao.unlock();
+        }
+    }
+
+    // Conexões paradas também recebem o ping, para que proxies não as derrubem e clientes mortos sejam detectados
+    @Scheduled(fixedRateString = "${api.notificacoes.push.heartbeat-ms:25000}")
+    public void enviarHeartbeat() {
+        conexoesPorCondominio.values().forEach(conexoes -> conexoes.forEach(conexao -> {
+            if (conexao.pendentes.get() == 0) {
+                enfileirar(conexao, heartbeat);
+            }
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    // A primeira conexão da instância fixa o cursor; o que veio antes dela o cliente recupera com Last-Event-ID
+    private void iniciarSincronizacao() {
+        sincronizacao.lock();
+        try {
+            if (ultimaPublicada == null) {
+                ultimaPublicada = caixaNotificacaoRepository.ultimaNotificacao();
+            }
+        } finally {
+            sincronizacao.unlock();
+        }
+    }
+
+    private void publicar(Long condominioId, Set<DataWithMediaType> evento) {
+        Set<Conexao> conexoes = condominioId != null ? conexoesPorCondominio.get(condominioId) : null;
+        if (conexoes == null) {
+            return;
+        }
+        for (Conexao conexao : conexoes) {
+            enfileirar(conexao, evento);
+        }
+    }
+
+    private void enfileirar(Conexao conexao, Set<DataWithMediaType> evento) {
+        if (conexao.fechada.get()) {
+            return;
+        }
+        if (conexao.pendentes.get() >= capacidadeFila) {
+            desconectarPorAtraso(conexao);
+            return;
+        }
+        conexao.fila.add(evento);
+        if (conexao.pendentes.getAndIncrement() == 0) {
+            executor.execute(() -> esvaziar(conexao));
+        }
+    }
+
+    private void esvaziar(Conexao conexao) {
+        do {
+            Set<DataWithMediaType> evento = conexao.fila.poll();
+            if (conexao.fechada.get()) {
+                descartadas.increment();
+                continue;
+            }
+            try {
+                conexao.emitter.send(evento);
+                if (evento != heartbeat) {
+                    enviadas.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                descartadas.increment();
+                fechar(conexao);
+                conexao.emitter.completeWithError(e);
+            }
+        } while (conexao.pendentes.decrementAndGet() > 0);
+    }
+
+    private void desconectarPorAtraso(Conexao conexao) {
+        if (fechar(conexao)) {
+            desconectadasPorAtraso.increment();
+            descartadas.increment();
+            conexao.emitter.complete();
+        }
+    }
+
+    private Set<DataWithMediaType> evento(NotificacaoDTO notificacao) {
+        try {
+            return SseEmitter.event()
+                    .id(String.valueOf(notificacao.id()))
+                    .name(EVENTO)
+                    .data(objectMapper.writeValueAsString(notificacao), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar notificação.", e);
+        }
+    }
+
+    // Retorna true só para quem efetivamente fechou, para que a conexão saia do registro uma única vez.
+    // Sem synchronized, que prenderia a thread virtual ao carrier
+    private boolean fechar(Conexao conexao) {
+        if (!conexao.fechada.compareAndSet(false, true)) {
+            return false;
+        }
+        conexoesPorCondominio.computeIfPresent(conexao.condominioId, (id, conexoes) -> {
+            conexoes.remove(conexao);
+            return conexoes.isEmpty() ? null : conexoes;
+        });
+        totalConexoes.decrementAndGet();
+        return true;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "push-notificacoes-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,251 @@
+package com.argus.api.service;
+
+import com.argus.api.dto.ResultadoVotacaoDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia o resultado parcial das sessões por Server-Sent Events. Em vez de reagir a cada voto, a cada
+ * intervalo o resultado de cada sessão acompanhada é lido uma única vez e enviado a todos os assinantes
+ * se mudou desde o último envio; assim uma sessão recebe no máximo um evento por intervalo.
+ * O agendador só serializa o evento e o enfileira nas conexões; a escrita nos sockets fica num executor
+ * próprio, como em TransmissaoNotificacoes, para que um cliente lento não segure as tarefas agendadas.
+ * Um assinante cuja fila enche é desconectado e recebe o resultado atual ao reconectar.
+ */
+@Component
+public class TransmissaoResultados implements DisposableBean {
+
+    private static final String EVENTO = "resultado";
+
+    // Marcador na fila: fecha o stream depois dos eventos enfileirados antes dele
+    private static final Set<DataWithMediaType> FIM = new HashSet<>();
+
+    private static final class Conexao {
+        final Long sessaoId;
+        final SseEmitter emitter;
+        final Queue<Set<DataWithMediaType>> fila = new ConcurrentLinkedQueue<>();
+        // Eventos na fila; quem leva de 0 para 1 agenda o esvaziamento, então há no máximo uma tarefa por conexão
+        final AtomicInteger pendentes = new AtomicInteger();
+        final AtomicBoolean fechada = new AtomicBoolean();
+
+        Conexao(Long sessaoId, SseEmitter emitter) {
+            this.sessaoId = sessaoId;
+            this.emitter = emitter;
+        }
+    }
+
+    private static final class Canal {
+        final List<Conexao> assinantes = new CopyOnWriteArrayList<>();
+        volatile ResultadoVotacaoDTO ultimoEnviado;
+    }
+
+    private final ApuracaoVotos apuracaoVotos;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Canal> canais = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final Timer tempoEnvio;
+    private final Counter desconectadasPorAtraso;
+
+    @Value("${api.votacao.transmissao.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${api.votacao.transmissao.capacidade-fila:16}")
+    private int capacidadeFila;
+
+    public TransmissaoResultados(ApuracaoVotos apuracaoVotos, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 Environment environment,
+                                 @Value("${api.votacao.transmissao.threads:2}") int threads) {
+        this.apuracaoVotos = apuracaoVotos;
+        this.objectMapper = objectMapper;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.executor = new VirtualThreadTaskExecutor("transmissao-resultados-");
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory());
+            new ExecutorServiceMetrics(pool, "transmissao-resultados", Tags.empty()).bindTo(meterRegistry);
+            this.executor = pool;
+        }
+
+        this.tempoEnvio = Timer.builder("argus.votacao.transmissao.envio")
+                .description("Tempo para escrever um resultado no stream de um assinante")
+                .register(meterRegistry);
+        this.desconectadasPorAtraso = Counter.builder("argus.votacao.transmissao.desconectadas")
+                .tag("motivo", "fila-cheia")
+                .register(meterRegistry);
+        meterRegistry.gauge("argus.votacao.transmissao.assinantes", canais,
+                c -> c.values().stream().mapToInt(canal -> canal.assinantes.size()).sum());
+        meterRegistry.gauge("argus.votacao.transmissao.sessoes", canais, Map::size);
+    }
+
+    public SseEmitter assinar(Long sessaoId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Conexao conexao = new Conexao(sessaoId, emitter);
+        // Dentro do compute: fechar e encerrar não tiram o canal do mapa entre a busca e a inclusão
+        canais.compute(sessaoId, (id, canal) -> {
+            Canal atual = canal != null ? canal : new Canal();
+            atual.assinantes.add(conexao);
+            return atual;
+        });
+        emitter.onCompletion(() -> fechar(conexao));
+        emitter.onTimeout(() -> fechar(conexao));
+        emitter.onError(erro -> fechar(conexao));
+
+        // O assinante novo recebe o resultado atual sem esperar o próximo intervalo
+        enfileirar(conexao, evento(apuracaoVotos.resultado(sessaoId)));
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${api.votacao.transmissao.intervalo-ms:500}")
+    public void transmitir() {
+        canais.forEach((sessaoId, canal) -> {
+            ResultadoVotacaoDTO atual = apuracaoVotos.resultado(sessaoId);
+            if (atual.equals(canal.ultimoEnviado)) {
+                return;
+            }
+            canal.ultimoEnviado = atual;
+            Set<DataWithMediaType> evento = evento(atual);
+            for (Conexao conexao : canal.assinantes) {
+                enfileirar(conexao, evento);
+            }
+        });
+    }
+
+    // Sessão encerrada ou excluída: envia o resultado final, se houver, e fecha os streams abertos
+    public void encerrar(Long sessaoId, ResultadoVotacaoDTO resultadoFinal) {
+        Canal canal = canais.remove(sessaoId);
+        if (canal == null) {
+            return;
+        }
+        Set<DataWithMediaType> evento = resultadoFinal != null ? evento(resultadoFinal) : null;
+        for (Conexao conexao : canal.assinantes) {
+            if (evento != null) {
+                enfileirar(conexao, evento);
+            }
+            enfileirar(conexao, FIM);
+        }
+    }
+
+    // Sessão já encerrada: o stream entrega o resultado final e termina, na própria thread da requisição
+    public SseEmitter resultadoFinal(ResultadoVotacaoDTO resultado) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        try {
+            emitter.send(evento(resultado));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private void enfileirar(Conexao conexao, Set<DataWithMediaType> evento) {
+        if (conexao.fechada.get()) {
+            return;
+        }
+        if (conexao.pendentes.get() >= capacidadeFila) {
+            if (fechar(conexao)) {
+                desconectadasPorAtraso.increment();
+                conexao.emitter.complete();
+            }
+            return;
+        }
+        conexao.fila.add(evento);
+        if (conexao.pendentes.getAndIncrement() == 0) {
+            executor.execute(() -> esvaziar(conexao));
+        }
+    }
+
+    private void esvaziar(Conexao conexao) {
+        do {
+            Set<DataWithMediaType> evento = conexao.fila.poll();
+            if (conexao.fechada.get()) {
+                continue;
+            }
+            if (evento == FIM) {
+                fechar(conexao);
+                conexao.emitter.complete();
+                continue;
+            }
+            Timer.Sample envio = Timer.start();
+            try {
+                conexao.emitter.send(evento);
+                envio.stop(tempoEnvio);
+            } catch (IOException | IllegalStateException e) {
+                fechar(conexao);
+                conexao.emitter.completeWithError(e);
+            }
+        } while (conexao.pendentes.decrementAndGet() > 0);
+    }
+
+    private Set<DataWithMediaType> evento(ResultadoVotacaoDTO resultado) {
+        try {
+            return SseEmitter.event()
+                    .name(EVENTO)
+                    .data(objectMapper.writeValueAsString(resultado), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar resultado da votação.", e);
+        }
+    }
+
+    // Retorna true só para quem efetivamente fechou; sem synchronized, que prenderia a thread virtual ao carrier
+    private boolean fechar(Conexao conexao) {
+        if (!conexao.fechada.compareAndSet(false, true)) {
+            return false;
+        }
+        canais.computeIfPresent(conexao.sessaoId, (id, canal) -> {
+            canal.assinantes.remove(conexao);
+            return canal.assinantes.isEmpty() ? null : canal;
+        });
+        return true;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "transmissao-resultados-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,17 +2,25 @@ package com.argus.api.service;
 
 import com.argus.api.domain.model.Condominio;
 import com.argus.api.domain.model.Usuarios;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.dto.UsuarioDTO;
 import com.argus.api.exception.CondominioNotFoundException;
-import com.argus.api.repository.CondominioRepository;
+import com.argus.api.infra.exportacao.EscritorExportacao;
+import com.argus.api.infra.security.RevogacaoTokens;
 import com.argus.api.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UsuarioService {
@@ -20,19 +28,28 @@ public class UsuarioService {
         @Autowired
         private UsuarioRepository usuarioRepository;
 
-        @Autowired
-        private CondominioRepository condominioRepository;
-
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private ReferenciaService referenciaService;
+
+    @Autowired
+    private RevogacaoTokens revogacaoTokens;
+
+    @Autowired
+    private EscritorExportacao escritorExportacao;
+
     public UsuarioDTO createUser(Usuarios usuarios) {
 
         String encryptedPassword = passwordEncoder.encode(usuarios.getSenha());
         usuarios.setSenha(encryptedPassword);
 
         if (usuarios.getCondominio() != null && usuarios.getCondominio().getNome() != null) {
-            Condominio condominio = condominioRepository.findByNome(usuarios.getCondominio().getNome())
+            Condominio condominio = referenciaService.buscarCondominioPorNome(usuarios.getCondominio().getNome())
                     .orElseThrow(() -> new CondominioNotFoundException("Condomínio não encontrado"));
             usuarios.setCondominio(condominio);
         }
@@ -44,12 +61,25 @@ public class UsuarioService {
     }
 
 
-    public List<UsuarioDTO> getAllUsers() {
-            return usuarioRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public PaginaDTO<UsuarioDTO> getAllUsers(Long after, Integer limit) {
+            int limite = PaginaDTO.limiteEfetivo(limit);
+            List<UsuarioDTO> usuarios = usuarioRepository.findByIdGreaterThanOrderByIdAsc(
+                            PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1)).stream()
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
+            return PaginaDTO.of(usuarios, limite, UsuarioDTO::id);
+    }
+
+    // A transação mantém o cursor aberto enquanto as linhas são escritas na resposta
+    @Transactional(readOnly = true)
+    public void exportarUsuarios(EscritorExportacao.Formato formato, OutputStream saida) throws IOException {
+        try (Stream<UsuarioDTO> usuarios = usuarioRepository.exportar()) {
+            escritorExportacao.escrever(usuarios, formato, saida);
+        }
     }
 
+        @Transactional(readOnly = true)
         public Optional<UsuarioDTO> findUserById(Long id) {
             return usuarioRepository.findById(id).map((this::convertToDTO));
         }
@@ -63,6 +93,11 @@ public class UsuarioService {
     public Usuarios updateUser(Long id, Usuarios usuarios) throws Exception {
             Usuarios existingUser = usuarioRepository.findById(id)
                     .orElseThrow(() -> new Exception("Usuário não encontrado"));
+            String cpfAnterior = existingUser.getCpf();
+            Long condominioAnterior = existingUser.getCondominioId();
+            boolean credenciaisAlteradas = existingUser.getTipoDoUsuario() != usuarios.getTipoDoUsuario()
+                    || !Objects.equals(cpfAnterior, usuarios.getCpf())
+                    || (usuarios.getSenha() != null && !usuarios.getSenha().isEmpty());
 
             existingUser.setNome(usuarios.getNome());
             existingUser.setCpf(usuarios.getCpf());
@@ -78,12 +113,23 @@ public class UsuarioService {
             }
 
             if (usuarios.getCondominio() != null && usuarios.getCondominio().getNome() != null) {
-                Condominio condominio = condominioRepository.findByNome(usuarios.getCondominio().getNome())
+                Condominio condominio = referenciaService.buscarCondominioPorNome(usuarios.getCondominio().getNome())
                         .orElseThrow(() -> new CondominioNotFoundException("Condomínio não encontrado"));
                 existingUser.setCondominio(condominio);
             }
 
-            return usuarioRepository.save(existingUser);
+            Usuarios savedUser = usuarioRepository.save(existingUser);
+
+            // Tokens antigos carregam perfil e condomínio nas claims: precisam deixar de valer
+            if (credenciaisAlteradas || !Objects.equals(condominioAnterior, savedUser.getCondominioId())) {
+                revogacaoTokens.revogar(savedUser.getId());
+            }
+
+            // O principal em cache ficaria com perfil/condomínio antigos até expirar
+            authorizationService.removerPrincipalDoCache(cpfAnterior);
+            authorizationService.removerPrincipalDoCache(savedUser.getCpf());
+
+            return savedUser;
         }
 
 
@@ -91,7 +137,9 @@ public class UsuarioService {
             Usuarios usuarios = usuarioRepository.findById(id)
                     .orElseThrow(() -> new Exception("Usuário não encontrado"));
 
+            revogacaoTokens.revogarExcluido(usuarios.getId());
             usuarioRepository.delete(usuarios);
+            authorizationService.removerPrincipalDoCache(usuarios.getCpf());
 
             return convertToDTO(usuarios);
         }
@@ -1,17 +1,32 @@
 package com.argus.api.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.argus.api.domain.model.SessaoVotacao;
 import com.argus.api.domain.model.Usuarios;
 import com.argus.api.domain.model.Voto;
+import com.argus.api.dto.PaginaDTO;
 import com.argus.api.dto.VotoDTO;
+import com.argus.api.dto.VotoExportacaoDTO;
+import com.argus.api.infra.exportacao.EscritorExportacao;
+import com.argus.api.infra.security.UsuarioAutenticado;
+import com.argus.api.infra.tenant.CondominioAtual;
 import com.argus.api.repository.SessaoVotacaoRepository;
 import com.argus.api.repository.UsuarioRepository;
 import com.argus.api.repository.VotoRepository;
+import io.micrometer.core.annotation.Timed;
 
 @Service
 public class VotoService {
@@ -19,15 +34,32 @@ public class VotoService {
     private final VotoRepository votoRepository;
     private final SessaoVotacaoRepository sessaoVotacaoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ApuracaoVotos apuracaoVotos;
+    private final FilaVotos filaVotos;
+    private final EscritorExportacao escritorExportacao;
 
     @Autowired
-    public VotoService(VotoRepository votoRepository, SessaoVotacaoRepository sessaoVotacaoRepository, UsuarioRepository usuarioRepository) {
+    public VotoService(VotoRepository votoRepository, SessaoVotacaoRepository sessaoVotacaoRepository, UsuarioRepository usuarioRepository,
+                       ApuracaoVotos apuracaoVotos, FilaVotos filaVotos, EscritorExportacao escritorExportacao) {
         this.votoRepository = votoRepository;
         this.sessaoVotacaoRepository = sessaoVotacaoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.apuracaoVotos = apuracaoVotos;
+        this.filaVotos = filaVotos;
+        this.escritorExportacao = escritorExportacao;
     }
 
+    @Timed("argus.servico")
     public String registrarVoto(VotoDTO votoDTO, Long usuarioId) {
+        if (filaVotos.ativa()) {
+            // Sem consultar o usuário: ele precisa ser o próprio autenticado, que já foi validado pelo token
+            if (!usuarioId.equals(idDoUsuarioAutenticado())) {
+                throw new IllegalArgumentException("O voto deve ser registrado pelo próprio usuário.");
+            }
+            filaVotos.enfileirar(votoDTO.sessaoId(), usuarioId, CondominioAtual.idParaFiltro(), votoDTO.voto());
+            return "Voto registrado com sucesso.";
+        }
+
         // Obter o usuário autenticado pelo ID
         Usuarios usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado."));
@@ -36,6 +68,10 @@ public class VotoService {
         SessaoVotacao sessao = sessaoVotacaoRepository.findById(votoDTO.sessaoId())
                 .orElseThrow(() -> new IllegalArgumentException("Sessão de votação não encontrada."));
 
+        if (sessao.isEncerrada() || sessao.getDataFim().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Sessão de votação encerrada.");
+        }
+
         // Verificar se o usuário já votou nesta sessão
         if (votoRepository.existsByUsuariosAndSessaoVotacao(usuario, sessao)) {
             throw new IllegalArgumentException("Usuário já votou nesta sessão.");
@@ -44,23 +80,43 @@ public class VotoService {
         // Converter o VotoDTO para Voto (entidade)
         Voto novoVoto = converterParaVoto(votoDTO, sessao, usuario);
 
-        // Registrar o voto
-        votoRepository.save(novoVoto);
+        // Registrar o voto; a restrição única barra votos simultâneos do mesmo usuário
+        try {
+            votoRepository.save(novoVoto);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Usuário já votou nesta sessão.");
+        }
+        apuracaoVotos.registrar(sessao.getId(), novoVoto.getVoto());
 
         return "Voto registrado com sucesso.";
     }
 
     // Método para listar todos os votos de uma sessão de votação
-    public List<Voto> listarVotos(Long sessaoVotacaoId) {
+    @Transactional(readOnly = true)
+    public PaginaDTO<Voto> listarVotos(Long sessaoVotacaoId, Long after, Integer limit) {
         SessaoVotacao sessaoVotacao = sessaoVotacaoRepository.findById(sessaoVotacaoId)
                 .orElseThrow(() -> new IllegalArgumentException("Sessão de votação não encontrada."));
 
-        return votoRepository.findBySessaoVotacao(sessaoVotacao);
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<Voto> votos = votoRepository.findBySessaoVotacaoAndIdGreaterThanOrderByIdAsc(
+                sessaoVotacao, PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1));
+        return PaginaDTO.of(votos, limite, Voto::getId);
     }
 
     // Novo método para listar todos os votos
-    public List<Voto> listarTodosVotos() {
-        return votoRepository.findAll();  // Retorna todos os votos
+    @Transactional(readOnly = true)
+    public PaginaDTO<Voto> listarTodosVotos(Long after, Integer limit) {
+        int limite = PaginaDTO.limiteEfetivo(limit);
+        List<Voto> votos = votoRepository.findByIdGreaterThanOrderByIdAsc(
+                PaginaDTO.cursorEfetivo(after), Limit.of(limite + 1));
+        return PaginaDTO.of(votos, limite, Voto::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarVotos(EscritorExportacao.Formato formato, OutputStream saida) throws IOException {
+        try (Stream<VotoExportacaoDTO> votos = votoRepository.exportar()) {
+            escritorExportacao.escrever(votos, formato, saida);
+        }
     }
 
     // Método para deletar um voto pelo ID
@@ -69,9 +125,19 @@ public class VotoService {
                 .orElseThrow(() -> new IllegalArgumentException("Voto não encontrado."));
 
         votoRepository.delete(voto);
+        apuracaoVotos.remover(voto.getSessaoVotacao().getId(), voto.getVoto());
+        filaVotos.removerVotante(voto.getSessaoVotacao().getId(), voto.getUsuarios().getId());
         return "Voto deletado com sucesso.";
     }
 
+    private static Long idDoUsuarioAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario.getId();
+        }
+        return null;
+    }
+
     // Método auxiliar para converter VotoDTO para Voto
     private Voto converterParaVoto(VotoDTO votoDTO, SessaoVotacao sessao, Usuarios usuario) {
         Voto voto = new Voto();
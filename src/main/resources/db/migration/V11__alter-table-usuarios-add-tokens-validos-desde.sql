@@ -0,0 +1,2 @@
+ALTER TABLE usuarios
+ADD COLUMN tokens_validos_desde TIMESTAMP NULL;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_voto_sessao_id ON voto (sessao_votacao_id, id);
+CREATE INDEX idx_reservas_area_data ON reservas (areas_comuns_id, data_reserva, hora_inicio);
+CREATE INDEX idx_ocorrencias_usuario_id ON ocorrencias (id_usuario, id);
@@ -0,0 +1,55 @@
+-- Cada linha ocupa um intervalo de 15 minutos de uma área num dia. A chave primária impede que duas
+-- reservas simultâneas ocupem o mesmo intervalo, mesmo vindas de instâncias diferentes da API.
+CREATE TABLE reservas_slots (
+    areas_comuns_id BIGINT NOT NULL,
+    data_reserva DATE NOT NULL,
+    slot SMALLINT NOT NULL,
+    reserva_id BIGINT NOT NULL,
+    PRIMARY KEY (areas_comuns_id, data_reserva, slot),
+    CONSTRAINT fk_slots_reserva FOREIGN KEY (reserva_id) REFERENCES reservas(id) ON DELETE CASCADE
+);
+
+-- Reservas antigas que dividiam um slot com outra, anterior a elas; ficam registradas para revisão do síndico
+CREATE TABLE reservas_slots_conflitos (
+    reserva_id BIGINT NOT NULL,
+    slot SMALLINT NOT NULL,
+    ocupado_por BIGINT NOT NULL,
+    PRIMARY KEY (reserva_id, slot),
+    CONSTRAINT fk_conflitos_reserva FOREIGN KEY (reserva_id) REFERENCES reservas(id) ON DELETE CASCADE,
+    CONSTRAINT fk_conflitos_ocupante FOREIGN KEY (ocupado_por) REFERENCES reservas(id) ON DELETE CASCADE
+);
+
+CREATE TABLE reservas_slots_carga (
+    areas_comuns_id BIGINT NOT NULL,
+    data_reserva DATE NOT NULL,
+    slot SMALLINT NOT NULL,
+    reserva_id BIGINT NOT NULL
+);
+
+INSERT INTO reservas_slots_carga (areas_comuns_id, data_reserva, slot, reserva_id)
+SELECT r.areas_comuns_id, r.data_reserva, s.n, r.id
+FROM reservas r
+JOIN (
+    SELECT d.n * 10 + u.n AS n
+    FROM (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d
+    CROSS JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) u
+) s ON s.n < 96
+   AND s.n * 15 < HOUR(r.hora_fim) * 60 + MINUTE(r.hora_fim)
+   AND (s.n + 1) * 15 > HOUR(r.hora_inicio) * 60 + MINUTE(r.hora_inicio);
+
+-- Slot disputado fica com a reserva mais antiga; as demais vão para reservas_slots_conflitos
+INSERT INTO reservas_slots (areas_comuns_id, data_reserva, slot, reserva_id)
+SELECT areas_comuns_id, data_reserva, slot, MIN(reserva_id)
+FROM reservas_slots_carga
+GROUP BY areas_comuns_id, data_reserva, slot;
+
+INSERT INTO reservas_slots_conflitos (reserva_id, slot, ocupado_por)
+SELECT c.reserva_id, c.slot, s.reserva_id
+FROM reservas_slots_carga c
+JOIN reservas_slots s
+  ON s.areas_comuns_id = c.areas_comuns_id AND s.data_reserva = c.data_reserva AND s.slot = c.slot
+WHERE s.reserva_id <> c.reserva_id;
+
+DROP TABLE reservas_slots_carga;
@@ -0,0 +1,9 @@
+-- Mantém só o primeiro voto de cada usuário por sessão antes de criar a restrição
+DELETE FROM voto
+WHERE id NOT IN (
+    SELECT primeiro FROM (
+        SELECT MIN(id) AS primeiro FROM voto GROUP BY sessao_votacao_id, usuario_id
+    ) AS primeiros
+);
+
+ALTER TABLE voto ADD CONSTRAINT uk_voto_sessao_usuario UNIQUE (sessao_votacao_id, usuario_id);
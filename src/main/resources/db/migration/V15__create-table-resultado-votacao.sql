@@ -0,0 +1,22 @@
+ALTER TABLE sessao_votacao ADD COLUMN encerrada BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Resultado final de cada sessão encerrada; gravado uma única vez e nunca alterado
+CREATE TABLE resultado_votacao (
+    sessao_votacao_id BIGINT PRIMARY KEY,
+    sim BIGINT NOT NULL,
+    nao BIGINT NOT NULL,
+    abstencoes BIGINT NOT NULL,
+    elegiveis BIGINT NOT NULL,
+    participacao DECIMAL(5, 2),
+    encerrada_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_resultado_sessao FOREIGN KEY (sessao_votacao_id) REFERENCES sessao_votacao(id) ON DELETE CASCADE
+);
+
+-- Concessões (leases) que garantem uma única instância executando cada tarefa agendada
+CREATE TABLE lease_tarefa (
+    nome VARCHAR(100) PRIMARY KEY,
+    dono VARCHAR(100),
+    expira_em TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_sessao_votacao_encerramento ON sessao_votacao (encerrada, data_fim);
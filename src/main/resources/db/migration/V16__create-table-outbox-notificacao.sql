@@ -0,0 +1,14 @@
+-- Eventos de notificação gravados na mesma transação da operação de origem e despachados em segundo plano
+CREATE TABLE outbox_notificacao (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(20) NOT NULL,
+    referencia_id BIGINT NOT NULL,
+    condominio_id BIGINT,
+    tentativas INT NOT NULL DEFAULT 0,
+    proxima_tentativa_em TIMESTAMP NULL,
+    ultimo_erro VARCHAR(500),
+    criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Localiza eventos em espera de nova tentativa, que bloqueiam os seguintes do mesmo condomínio
+CREATE INDEX idx_outbox_condominio_espera ON outbox_notificacao (condominio_id, proxima_tentativa_em);
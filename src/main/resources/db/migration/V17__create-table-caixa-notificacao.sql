@@ -0,0 +1,27 @@
+-- Caixa de entrada por morador: uma linha por destinatário de cada notificação. A chave primária
+-- (usuario_id, notificacao_id) atende o feed com uma varredura de faixa no índice
+CREATE TABLE caixa_notificacao (
+    usuario_id BIGINT NOT NULL,
+    notificacao_id BIGINT NOT NULL,
+    lida BOOLEAN NOT NULL DEFAULT FALSE,
+    lida_em TIMESTAMP NULL,
+    PRIMARY KEY (usuario_id, notificacao_id),
+    CONSTRAINT fk_caixa_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE,
+    CONSTRAINT fk_caixa_notificacao FOREIGN KEY (notificacao_id) REFERENCES notificacoes(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_caixa_nao_lidas ON caixa_notificacao (usuario_id, lida);
+
+-- Notificações existentes vão para as caixas dos moradores do condomínio de origem, já como lidas
+INSERT IGNORE INTO caixa_notificacao (usuario_id, notificacao_id, lida)
+SELECT u.id, n.id, TRUE
+FROM notificacoes n
+JOIN comunicados c ON c.id = n.id_comunicados
+JOIN usuarios u ON u.condominio_id = c.condominio_id AND u.tipo_do_usuario <> 'ADMIN';
+
+INSERT IGNORE INTO caixa_notificacao (usuario_id, notificacao_id, lida)
+SELECT u.id, n.id, TRUE
+FROM notificacoes n
+JOIN reservas r ON r.id = n.id_reserva
+JOIN areas_comuns a ON a.id = r.areas_comuns_id
+JOIN usuarios u ON u.condominio_id = a.condominio_id AND u.tipo_do_usuario <> 'ADMIN';
@@ -0,0 +1,2 @@
+-- Retenção: localiza o último id de notificação anterior à data de corte com uma única busca no índice
+CREATE INDEX idx_notificacoes_data ON notificacoes (data, id);
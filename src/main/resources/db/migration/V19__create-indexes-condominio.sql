@@ -0,0 +1,7 @@
+-- Consultas isoladas por condomínio: o filtro condominio_id = ? seguido da ordenação por id vira uma
+-- varredura de faixa só nas linhas do condomínio. Reservas, ocorrências e votos chegam ao condomínio pelas
+-- áreas, usuários e sessões, usando estes índices e os já existentes nas chaves estrangeiras
+CREATE INDEX idx_usuarios_condominio ON usuarios (condominio_id, id);
+CREATE INDEX idx_comunicados_condominio ON comunicados (condominio_id, id);
+CREATE INDEX idx_areas_comuns_condominio ON areas_comuns (condominio_id, id);
+CREATE INDEX idx_sessao_votacao_condominio ON sessao_votacao (condominio_id, id);
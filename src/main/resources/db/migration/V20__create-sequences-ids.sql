@@ -0,0 +1,29 @@
+-- Sequências emuladas em tabela para os ids gerados pelo Hibernate (pooled-lo): cada leitura reserva um bloco
+-- de ids, o que libera o insert em lote. Todas as inserções dessas tabelas passam pelo JPA; o AUTO_INCREMENT
+-- das colunas deixa de ser usado. Cada sequência começa depois do maior id existente.
+CREATE TABLE condominios_seq (next_val BIGINT NOT NULL);
+INSERT INTO condominios_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM condominios;
+
+CREATE TABLE usuarios_seq (next_val BIGINT NOT NULL);
+INSERT INTO usuarios_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM usuarios;
+
+CREATE TABLE comunicados_seq (next_val BIGINT NOT NULL);
+INSERT INTO comunicados_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM comunicados;
+
+CREATE TABLE areas_comuns_seq (next_val BIGINT NOT NULL);
+INSERT INTO areas_comuns_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM areas_comuns;
+
+CREATE TABLE reservas_seq (next_val BIGINT NOT NULL);
+INSERT INTO reservas_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM reservas;
+
+CREATE TABLE sessao_votacao_seq (next_val BIGINT NOT NULL);
+INSERT INTO sessao_votacao_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM sessao_votacao;
+
+CREATE TABLE ocorrencias_seq (next_val BIGINT NOT NULL);
+INSERT INTO ocorrencias_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM ocorrencias;
+
+CREATE TABLE voto_seq (next_val BIGINT NOT NULL);
+INSERT INTO voto_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM voto;
+
+CREATE TABLE notificacoes_seq (next_val BIGINT NOT NULL);
+INSERT INTO notificacoes_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM notificacoes;
@@ -0,0 +1,6 @@
+-- Revogação dos tokens de usuários excluídos, que deixam de ter a linha em usuarios onde fica tokens_validos_desde.
+-- Lida periodicamente pelas instâncias junto com a coluna; linhas mais velhas que a validade do token são apagadas
+CREATE TABLE tokens_revogados (
+    usuario_id BIGINT PRIMARY KEY,
+    validos_desde TIMESTAMP NOT NULL
+);
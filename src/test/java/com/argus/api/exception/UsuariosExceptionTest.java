@@ -0,0 +1,60 @@
+package com.argus.api.exception;
+
+import com.argus.api.dto.ExecoesDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+// Saturação durante a busca do usuário no login: a resposta é 503 com Retry-After, não 401
+class UsuariosExceptionTest {
+
+    @Test
+    void hashSaturadoNaBuscaDoUsuarioViraServicoIndisponivel() {
+        ResponseEntity<ExecoesDTO> resposta = autenticar(
+                new HashingSaturadoException("Servidor ocupado, tente novamente em instantes."));
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void poolDeConexoesEsgotadoNaBuscaDoUsuarioViraServicoIndisponivel() {
+        ResponseEntity<ExecoesDTO> resposta = autenticar(new CannotCreateTransactionException("timeout"));
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void outrasFalhasInternasSeguemParaOSpringSecurity() {
+        InternalAuthenticationServiceException erro = new InternalAuthenticationServiceException("falha",
+                new IllegalStateException());
+
+        assertThatThrownBy(() -> new UsuariosException().handleAutenticacaoInterna(erro)).isSameAs(erro);
+    }
+
+    // O DaoAuthenticationProvider embrulha a falha do UserDetailsService, como acontece no /auth/login
+    private static ResponseEntity<ExecoesDTO> autenticar(RuntimeException falhaNaBusca) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(new BCryptPasswordEncoder(4));
+        provider.setUserDetailsService(cpf -> {
+            throw falhaNaBusca;
+        });
+
+        InternalAuthenticationServiceException erro = catchThrowableOfType(
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("000", "senha")),
+                InternalAuthenticationServiceException.class);
+
+        assertThat(erro.getCause()).isSameAs(falhaNaBusca);
+        return new UsuariosException().handleAutenticacaoInterna(erro);
+    }
+}
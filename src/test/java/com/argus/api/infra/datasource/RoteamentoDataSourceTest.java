@@ -0,0 +1,68 @@
+package com.argus.api.infra.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Leituras em transação somente leitura vão para a réplica; escritas e réplicas fora do ar ficam na primária
+class RoteamentoDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicasLeitura replicas;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    void configurar() {
+        DataSource primaria = new DriverManagerDataSource("jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        meterRegistry = new SimpleMeterRegistry();
+        replicas = new ReplicasLeitura(Map.of("replica-1", replica), Duration.ofSeconds(5), meterRegistry);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new RoteamentoDataSource(primaria, replicas));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @Test
+    void transacaoSomenteLeituraUsaAReplica() {
+        assertThat(bancoUsado(leitura)).isEqualTo("REPLICA");
+        assertThat(bancoUsado(escrita)).isEqualTo("PRIMARIA");
+    }
+
+    @Test
+    void replicaIndisponivelVoltaParaAPrimaria() {
+        replicas.marcarIndisponivel("replica-1");
+
+        assertThat(bancoUsado(leitura)).isEqualTo("PRIMARIA");
+        assertThat(meterRegistry.counter("argus.datasource.leituras.primaria").count()).isEqualTo(1);
+    }
+
+    @Test
+    void verificacaoDevolveReplicaAoRodizio() {
+        replicas.marcarIndisponivel("replica-1");
+        replicas.verificar();
+
+        assertThat(bancoUsado(leitura)).isEqualTo("REPLICA");
+        assertThat(meterRegistry.get("argus.datasource.replica.disponivel").gauge().value()).isEqualTo(1);
+    }
+
+    private String bancoUsado(TransactionTemplate transacao) {
+        return transacao.execute(status -> jdbcTemplate.queryForObject("SELECT UPPER(DATABASE())", String.class));
+    }
+}
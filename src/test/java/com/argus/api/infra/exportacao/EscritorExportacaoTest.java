@@ -0,0 +1,99 @@
+package com.argus.api.infra.exportacao;
+
+import com.argus.api.infra.exportacao.EscritorExportacao.Formato;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Uma linha por registro, no formato pedido, sem montar a coleção em memória
+class EscritorExportacaoTest {
+
+    record Linha(Long id, String titulo, LocalDate data) {
+    }
+
+    // Mesma configuração de datas do ObjectMapper do Spring Boot
+    private final EscritorExportacao escritor = new EscritorExportacao(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    @Test
+    void ndjsonEscreveUmObjetoPorLinha() throws IOException {
+        String saida = escrever(Formato.NDJSON,
+                new Linha(1L, "Vazamento", LocalDate.of(2024, 3, 1)), new Linha(2L, null, null));
+
+        assertThat(saida.split("\n")).containsExactly(
+                "{\"id\":1,\"titulo\":\"Vazamento\",\"data\":\"2024-03-01\"}",
+                "{\"id\":2,\"titulo\":null,\"data\":null}");
+    }
+
+    @Test
+    void csvTemCabecalhoEEscapaTextoLivre() throws IOException {
+        String saida = escrever(Formato.CSV,
+                new Linha(1L, "Barulho, à noite", null), new Linha(2L, "Disse \"basta\"", null),
+                new Linha(3L, "=HYPERLINK(\"x\")", null));
+
+        assertThat(saida.split("\r\n")).containsExactly(
+                "id,titulo,data",
+                "1,\"Barulho, à noite\",",
+                "2,\"Disse \"\"basta\"\"\",",
+                "3,\"'=HYPERLINK(\"\"x\"\")\",");
+    }
+
+    @Test
+    void exportacaoVaziaNaoEscreveNada() throws IOException {
+        assertThat(escrever(Formato.CSV)).isEmpty();
+        assertThat(escrever(Formato.NDJSON)).isEmpty();
+    }
+
+    @Test
+    void compactaQuandoOClienteAceitaGzip() throws IOException {
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        try (OutputStream saida = escritor.abrir(resposta, "ocorrencias", Formato.NDJSON, "gzip, deflate")) {
+            escritor.escrever(Stream.of(new Linha(1L, "a", null)), Formato.NDJSON, saida);
+        }
+
+        assertThat(resposta.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(resposta.getContentType()).isEqualTo("application/x-ndjson");
+        assertThat(resposta.getHeader("Content-Disposition")).startsWith("attachment; filename=\"ocorrencias-");
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(resposta.getContentAsByteArray()))) {
+            assertThat(new String(entrada.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"id\":1,\"titulo\":\"a\",\"data\":null}\n");
+        }
+    }
+
+    @Test
+    void semGzipEscreveDireto() throws IOException {
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        try (OutputStream saida = escritor.abrir(resposta, "votos", Formato.CSV, null)) {
+            escritor.escrever(Stream.of(new Linha(1L, "a", null)), Formato.CSV, saida);
+        }
+
+        assertThat(resposta.getHeader("Content-Encoding")).isNull();
+        assertThat(resposta.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("id,titulo,data\r\n1,a,\r\n");
+    }
+
+    @Test
+    void formatoDesconhecidoEhRejeitado() {
+        assertThatThrownBy(() -> Formato.de("xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String escrever(Formato formato, Linha... linhas) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        escritor.escrever(Stream.of(linhas), formato, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+}
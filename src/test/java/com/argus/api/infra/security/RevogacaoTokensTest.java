@@ -0,0 +1,64 @@
+package com.argus.api.infra.security;
+
+import com.argus.api.repository.TokensRevogadosRepository;
+import com.argus.api.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A exclusão de um usuário revoga os tokens dele em todas as instâncias, não só na que atendeu o DELETE
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revogacao;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TokensRevogadosRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RevogacaoTokensTest {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokensRevogadosRepository tokensRevogadosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exclusaoEmUmaInstanciaRevogaOsTokensNasOutras() {
+        RevogacaoTokens instanciaA = new RevogacaoTokens(usuarioRepository, tokensRevogadosRepository);
+        RevogacaoTokens instanciaB = new RevogacaoTokens(usuarioRepository, tokensRevogadosRepository);
+        Instant emitidoAntes = Instant.now().minusSeconds(60);
+
+        instanciaA.revogarExcluido(42L);
+        assertThat(instanciaB.estaRevogado(42L, emitidoAntes)).isFalse();
+
+        instanciaB.atualizar();
+
+        assertThat(instanciaA.estaRevogado(42L, emitidoAntes)).isTrue();
+        assertThat(instanciaB.estaRevogado(42L, emitidoAntes)).isTrue();
+        assertThat(instanciaB.estaRevogado(43L, emitidoAntes)).isFalse();
+    }
+
+    @Test
+    void revogacoesMaisVelhasQueAValidadeDoTokenSaoApagadas() {
+        tokensRevogadosRepository.registrar(7L, LocalDateTime.now().minus(TokenService.VALIDADE).minusMinutes(1));
+
+        new RevogacaoTokens(usuarioRepository, tokensRevogadosRepository).atualizar();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tokens_revogados WHERE usuario_id = 7",
+                Integer.class)).isZero();
+    }
+}
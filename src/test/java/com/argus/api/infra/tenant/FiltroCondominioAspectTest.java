@@ -0,0 +1,205 @@
+package com.argus.api.infra.tenant;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.domain.model.Voto;
+import com.argus.api.dto.ComunicadoDTO;
+import com.argus.api.infra.security.UsuarioPrincipal;
+import com.argus.api.repository.ComunicadoRepository;
+import com.argus.api.repository.ReservasRepository;
+import com.argus.api.repository.UsuarioRepository;
+import com.argus.api.repository.VotoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Um morador só enxerga as linhas do próprio condomínio, tanto nas consultas quanto na busca por id
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(FiltroCondominioAspect.class)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+class FiltroCondominioAspectTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ComunicadoRepository comunicadoRepository;
+
+    @Autowired
+    private ReservasRepository reservasRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    private Condominio condominioA;
+    private Comunicados comunicadoA;
+    private Comunicados comunicadoB;
+    private AreasComuns areaB;
+    private Usuarios moradorB;
+
+    @BeforeEach
+    void popularBanco() {
+        condominioA = condominio("A");
+        Condominio condominioB = condominio("B");
+        Usuarios moradorA = morador(condominioA, "1");
+        moradorB = morador(condominioB, "2");
+        comunicadoA = comunicado(condominioA, moradorA);
+        comunicadoB = comunicado(condominioB, moradorB);
+        reserva(area(condominioA));
+        areaB = area(condominioB);
+        reserva(areaB);
+        voto(condominioA, moradorA);
+        voto(condominioB, moradorB);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void moradorListaSoOProprioCondominio() {
+        autenticar(TipoDoUsuario.MORADOR, condominioA.getId());
+
+        List<ComunicadoDTO> comunicados = comunicadoRepository.listarPagina(0L, Limit.of(10));
+
+        assertThat(comunicados).extracting(ComunicadoDTO::id).containsExactly(comunicadoA.getId());
+        assertThat(usuarioRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)))
+                .extracting(Usuarios::getCondominioId).containsOnly(condominioA.getId());
+        assertThat(votoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).hasSize(1);
+    }
+
+    @Test
+    void tabelasSemCondominioSaoFiltradasPelaAssociacao() {
+        autenticar(TipoDoUsuario.MORADOR, condominioA.getId());
+
+        assertThat(reservasRepository.findByAreasComunsIdAndDataReserva(areaB.getId(), LocalDate.now())).isEmpty();
+    }
+
+    @Test
+    void buscaPorIdDeOutroCondominioNaoEncontra() {
+        autenticar(TipoDoUsuario.MORADOR, condominioA.getId());
+
+        assertThat(comunicadoRepository.findById(comunicadoA.getId())).isPresent();
+        assertThat(comunicadoRepository.findById(comunicadoB.getId())).isEmpty();
+        assertThat(usuarioRepository.findById(moradorB.getId())).isEmpty();
+    }
+
+    @Test
+    void exclusaoPorIdDeOutroCondominioEIgnorada() {
+        autenticar(TipoDoUsuario.MORADOR, condominioA.getId());
+
+        usuarioRepository.deleteById(moradorB.getId());
+        entityManager.flush();
+
+        assertThat(entityManager.find(Usuarios.class, moradorB.getId())).isNotNull();
+    }
+
+    @Test
+    void adminEnxergaTodosOsCondominios() {
+        autenticar(TipoDoUsuario.ADMIN, null);
+
+        assertThat(comunicadoRepository.listarPagina(0L, Limit.of(10))).hasSize(2);
+        assertThat(comunicadoRepository.findById(comunicadoB.getId())).isPresent();
+    }
+
+    @Test
+    void semAutenticacaoNaoFiltra() {
+        assertThat(comunicadoRepository.listarPagina(0L, Limit.of(10))).hasSize(2);
+    }
+
+    private void autenticar(TipoDoUsuario tipo, Long condominioId) {
+        UsuarioPrincipal principal = new UsuarioPrincipal(99L, "999", tipo, condominioId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Condominio condominio(String nome) {
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio " + nome);
+        condominio.setEndereco("Rua " + nome);
+        return entityManager.persist(condominio);
+    }
+
+    private Usuarios morador(Condominio condominio, String sufixo) {
+        Usuarios usuario = new Usuarios();
+        usuario.setNome("Morador " + sufixo);
+        usuario.setCpf("000.000.000-0" + sufixo);
+        usuario.setSenha("senha");
+        usuario.setTelefone("1199999999" + sufixo);
+        usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+        usuario.setCondominio(condominio);
+        return entityManager.persist(usuario);
+    }
+
+    private Comunicados comunicado(Condominio condominio, Usuarios autor) {
+        Comunicados comunicado = new Comunicados();
+        comunicado.setTitulo("Título");
+        comunicado.setMensagem("Mensagem");
+        comunicado.setUsuarios(autor);
+        comunicado.setCondominio(condominio);
+        return entityManager.persist(comunicado);
+    }
+
+    private AreasComuns area(Condominio condominio) {
+        AreasComuns area = new AreasComuns();
+        area.setNome("Salão");
+        area.setDisponivel(true);
+        area.setCondominio(condominio);
+        return entityManager.persist(area);
+    }
+
+    private void reserva(AreasComuns area) {
+        Reservas reserva = new Reservas();
+        reserva.setAreasComuns(area);
+        reserva.setDataReserva(LocalDate.now());
+        reserva.setHoraInicio(LocalTime.of(10, 0));
+        reserva.setHoraFim(LocalTime.of(11, 0));
+        entityManager.persist(reserva);
+    }
+
+    private void voto(Condominio condominio, Usuarios usuario) {
+        SessaoVotacao sessao = new SessaoVotacao();
+        sessao.setProposta("Proposta");
+        sessao.setDescricao("Descrição");
+        sessao.setDataInicio(LocalDate.now());
+        sessao.setDataFim(LocalDate.now().plusDays(1));
+        sessao.setCondominio(condominio);
+        entityManager.persist(sessao);
+
+        Voto voto = new Voto();
+        voto.setVoto(true);
+        voto.setSessaoVotacao(sessao);
+        voto.setUsuarios(usuario);
+        entityManager.persist(voto);
+    }
+}
@@ -0,0 +1,287 @@
+package com.argus.api.repository;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Ocorrencias;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.domain.model.Voto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cada listagem deve custar um único select, independente de quantas linhas e relações a página tem
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ConsultasListagemTest {
+
+    private static final int REGISTROS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservasRepository reservasRepository;
+
+    @Autowired
+    private ComunicadoRepository comunicadoRepository;
+
+    @Autowired
+    private AreasComunsRepository areasComunsRepository;
+
+    @Autowired
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private OcorrenciasRepository ocorrenciasRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    private Statistics statistics;
+
+    // O H2 recusa o fetch size Integer.MIN_VALUE, que o driver do MySQL entende como leitura linha a linha:
+    // os valores negativos ficam registrados aqui e não chegam ao driver
+    private static final List<Integer> fetchSizesNegativos = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class RegistroFetchSize {
+
+        @Bean
+        static BeanPostProcessor registrarFetchSize() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nome) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return interceptar(Connection.class, super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T interceptar(Class<T> tipo, T alvo) {
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, args) -> {
+                if (metodo.getName().equals("setFetchSize") && (int) args[0] < 0) {
+                    fetchSizesNegativos.add((int) args[0]);
+                    return null;
+                }
+                Object resultado;
+                try {
+                    resultado = metodo.invoke(alvo, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return metodo.getName().equals("prepareStatement")
+                        ? interceptar(PreparedStatement.class, (PreparedStatement) resultado) : resultado;
+            });
+        }
+    }
+
+    @BeforeEach
+    void popularBanco() {
+        for (int i = 0; i < REGISTROS; i++) {
+            Condominio condominio = new Condominio();
+            condominio.setNome("Condomínio " + i);
+            condominio.setEndereco("Rua " + i);
+            entityManager.persist(condominio);
+
+            Usuarios usuario = new Usuarios();
+            usuario.setNome("Morador " + i);
+            usuario.setCpf("000.000.000-0" + i);
+            usuario.setSenha("senha");
+            usuario.setTelefone("1199999999" + i);
+            usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            usuario.setCondominio(condominio);
+            entityManager.persist(usuario);
+
+            AreasComuns area = new AreasComuns();
+            area.setNome("Área " + i);
+            area.setDisponivel(true);
+            area.setCondominio(condominio);
+            entityManager.persist(area);
+
+            Reservas reserva = new Reservas();
+            reserva.setAreasComuns(area);
+            reserva.setDataReserva(LocalDate.now());
+            reserva.setHoraInicio(LocalTime.of(10, 0));
+            reserva.setHoraFim(LocalTime.of(11, 0));
+            entityManager.persist(reserva);
+
+            Comunicados comunicado = new Comunicados();
+            comunicado.setTitulo("Título " + i);
+            comunicado.setMensagem("Mensagem " + i);
+            comunicado.setUsuarios(usuario);
+            comunicado.setCondominio(condominio);
+            entityManager.persist(comunicado);
+
+            SessaoVotacao sessao = new SessaoVotacao();
+            sessao.setProposta("Proposta " + i);
+            sessao.setDescricao("Descrição " + i);
+            sessao.setDataInicio(LocalDate.now());
+            sessao.setDataFim(LocalDate.now().plusDays(1));
+            sessao.setCondominio(condominio);
+            entityManager.persist(sessao);
+
+            Voto voto = new Voto();
+            voto.setVoto(true);
+            voto.setSessaoVotacao(sessao);
+            voto.setUsuarios(usuario);
+            entityManager.persist(voto);
+
+            Ocorrencias ocorrencia = new Ocorrencias();
+            ocorrencia.setTitulo("Ocorrência " + i);
+            ocorrencia.setDescricao("Descrição " + i);
+            ocorrencia.setTipo(Ocorrencias.TipoOcorrencia.SOLICITACAO_DE_MANUTENCAO);
+            ocorrencia.setDataCriacao(LocalDateTime.now());
+            ocorrencia.setUsuario(usuario);
+            ocorrencia.setArea(area);
+            entityManager.persist(ocorrencia);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listarReservasExecutaUmSelect() {
+        var reservas = reservasRepository.listarPagina(0L, Limit.of(REGISTROS));
+
+        assertThat(reservas).hasSize(REGISTROS).allSatisfy(r -> assertThat(r.areaNome()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarComunicadosExecutaUmSelect() {
+        var comunicados = comunicadoRepository.listarPagina(0L, Limit.of(REGISTROS));
+
+        assertThat(comunicados).hasSize(REGISTROS).allSatisfy(c -> assertThat(c.condominioNome()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarAreasComunsExecutaUmSelect() {
+        var areas = areasComunsRepository.listarPagina(0L, Limit.of(REGISTROS));
+
+        assertThat(areas).hasSize(REGISTROS).allSatisfy(a -> assertThat(a.condominioNome()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarSessoesExecutaUmSelect() {
+        var sessoes = sessaoVotacaoRepository.listarPagina(0L, Limit.of(REGISTROS));
+
+        assertThat(sessoes).hasSize(REGISTROS).allSatisfy(s -> assertThat(s.condominioNome()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarUsuariosExecutaUmSelect() {
+        var usuarios = usuarioRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(REGISTROS));
+
+        assertThat(usuarios).hasSize(REGISTROS).allSatisfy(u -> assertThat(u.getCondominio().getNome()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarOcorrenciasExecutaUmSelect() {
+        var ocorrencias = ocorrenciasRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(REGISTROS));
+
+        // O conversor só lê os ids das relações, que o proxy lazy já conhece
+        assertThat(ocorrencias).hasSize(REGISTROS).allSatisfy(o -> {
+            assertThat(o.getUsuario().getId()).isNotNull();
+            assertThat(o.getArea().getId()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarVotosExecutaUmSelect() {
+        var votos = votoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(REGISTROS));
+
+        assertThat(votos).hasSize(REGISTROS)
+                .allSatisfy(v -> assertThat(v.getSessaoVotacao().getCondominio().getNome()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void contarVotosPorSessaoExecutaUmSelect() {
+        var sessoes = sessaoVotacaoRepository.findAll().stream().map(SessaoVotacao::getId).toList();
+        statistics.clear();
+
+        var contagens = votoRepository.contarPorSessao(sessoes);
+
+        assertThat(contagens).hasSize(REGISTROS).allSatisfy(c -> {
+            assertThat(c.getVoto()).isTrue();
+            assertThat(c.getQuantidade()).isEqualTo(1L);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // As exportações leem a projeção direto do cursor, sem carregar entidades nem relações
+    @Test
+    void exportacoesExecutamUmSelectCadaLidoLinhaALinha() {
+        fetchSizesNegativos.clear();
+        try (var usuarios = usuarioRepository.exportar()) {
+            assertThat(usuarios.toList()).hasSize(REGISTROS).allSatisfy(u -> {
+                assertThat(u.tipoDoUsuario()).isEqualTo("MORADOR");
+                assertThat(u.condominioNome()).isNotNull();
+            });
+        }
+        try (var ocorrencias = ocorrenciasRepository.exportar()) {
+            assertThat(ocorrencias.toList()).hasSize(REGISTROS).allSatisfy(o -> assertThat(o.getIdArea()).isNotNull());
+        }
+        try (var votos = votoRepository.exportar()) {
+            assertThat(votos.toList()).hasSize(REGISTROS).allSatisfy(v -> assertThat(v.proposta()).isNotNull());
+        }
+        try (var reservas = reservasRepository.exportar()) {
+            assertThat(reservas.toList()).hasSize(REGISTROS).allSatisfy(r -> assertThat(r.areaNome()).isNotNull());
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(fetchSizesNegativos).containsExactly(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE,
+                Integer.MIN_VALUE);
+    }
+}
@@ -0,0 +1,128 @@
+package com.argus.api.repository;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.repository.VotoLoteRepository.VotoPendente;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Com os ids das sequências do Flyway, o lote de votos vai ao banco em inserts agrupados e os repetidos são descartados
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:votolote;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VotoLoteRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VotoLoteRepositoryTest {
+
+    private static final int MORADORES = 120;
+
+    @Autowired
+    private VotoLoteRepository votoLoteRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // O banco é compartilhado entre os testes; cada um cria o próprio condomínio e moradores
+    private static int rodada;
+
+    private SessaoVotacao sessao;
+    private List<Usuarios> moradores;
+    private Statistics statistics;
+
+    @BeforeEach
+    void popularBanco() {
+        rodada++;
+        votoRepository.deleteAll();
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio " + rodada);
+        condominio.setEndereco("Rua A");
+        condominioRepository.save(condominio);
+
+        moradores = new ArrayList<>();
+        for (int i = 0; i < MORADORES; i++) {
+            Usuarios usuario = new Usuarios();
+            usuario.setNome("Morador " + i);
+            usuario.setCpf(rodada + "-" + i);
+            usuario.setSenha("senha");
+            usuario.setTelefone("11" + i);
+            usuario.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            usuario.setCondominio(condominio);
+            moradores.add(usuario);
+        }
+        usuarioRepository.saveAll(moradores);
+
+        sessao = new SessaoVotacao();
+        sessao.setProposta("Proposta");
+        sessao.setDescricao("Descrição");
+        sessao.setDataInicio(LocalDate.now());
+        sessao.setDataFim(LocalDate.now().plusDays(1));
+        sessao.setCondominio(condominio);
+        sessaoVotacaoRepository.save(sessao);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loteInteiroEGravadoEmInsertsAgrupados() {
+        int[] linhas = votoLoteRepository.inserir(votos(0, MORADORES));
+
+        assertThat(linhas).containsOnly(1);
+        assertThat(votoRepository.count()).isEqualTo(MORADORES);
+        // 120 votos em lotes de 50, não um insert por voto
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void votosJaGravadosSaoDescartadosSemPerderOsNovos() {
+        votoLoteRepository.inserir(votos(0, 2));
+
+        int[] linhas = votoLoteRepository.inserir(votos(0, 4));
+
+        assertThat(linhas).containsExactly(0, 0, 1, 1);
+        assertThat(votoRepository.count()).isEqualTo(4);
+    }
+
+    private List<VotoPendente> votos(int de, int ate) {
+        List<VotoPendente> votos = new ArrayList<>();
+        for (int i = de; i < ate; i++) {
+            votos.add(new VotoPendente(sessao.getId(), moradores.get(i).getId(), i % 2 == 0));
+        }
+        return votos;
+    }
+}
@@ -0,0 +1,134 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.repository.AreasComunsRepository;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.ReservaSlotRepository;
+import com.argus.api.repository.ReservasRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// O índice em memória e a tabela reservas_slots precisam concordar: o que um recusa o outro também recusa
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:agendaslots;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReservaSlotRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AgendaReservasSlotsTest {
+
+    private static final LocalDate DIA = LocalDate.of(2030, 1, 10);
+
+    @Autowired
+    private ReservasRepository reservasRepository;
+
+    @Autowired
+    private ReservaSlotRepository reservaSlotRepository;
+
+    @Autowired
+    private AreasComunsRepository areasComunsRepository;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // O banco é compartilhado entre os testes; cada um usa a própria área
+    private static int rodada;
+
+    private AreasComuns area;
+    private final AtomicInteger gravacoes = new AtomicInteger();
+
+    @BeforeEach
+    void criarArea() {
+        rodada++;
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio slots " + rodada);
+        condominio.setEndereco("Rua A");
+        condominioRepository.save(condominio);
+
+        area = new AreasComuns();
+        area.setNome("Salão " + rodada);
+        area.setDisponivel(true);
+        area.setCondominio(condominio);
+        areasComunsRepository.save(area);
+    }
+
+    @Test
+    void horariosNoMesmoSlotSaoRecusadosSemIrAoBanco() {
+        AgendaReservas agenda = new AgendaReservas(reservasRepository, Duration.ZERO, 0);
+        reservar(agenda, "10:00", "10:10");
+
+        assertThatThrownBy(() -> reservar(agenda, "10:10", "10:20")).hasMessageContaining("já reservada");
+        assertThat(gravacoes).hasValue(1);
+
+        reservar(agenda, "10:15", "10:30");
+        assertThat(slotsOcupados()).isEqualTo(2);
+    }
+
+    @Test
+    void outraInstanciaComIndiceDesatualizadoEsbarraNaChaveDosSlots() {
+        AgendaReservas instanciaA = new AgendaReservas(reservasRepository, Duration.ZERO, 0);
+        AgendaReservas instanciaB = new AgendaReservas(reservasRepository, Duration.ZERO, 0);
+        instanciaB.ocupacao(area.getId(), DIA, DIA);
+
+        reservar(instanciaA, "10:00", "10:10");
+
+        assertThatThrownBy(() -> reservar(instanciaB, "10:10", "10:20")).hasMessageContaining("já reservada");
+        assertThat(gravacoes).hasValue(2);
+        assertThat(reservasRepository.findByAreasComunsIdAndDataReserva(area.getId(), DIA)).hasSize(1);
+
+        // Depois da recusa a instância B recarregou o dia e passa a recusar sem gravar
+        assertThatThrownBy(() -> reservar(instanciaB, "10:05", "10:12")).hasMessageContaining("já reservada");
+        assertThat(gravacoes).hasValue(2);
+    }
+
+    // Mesmo fluxo do ReservasService: reserva e slots na mesma transação
+    private Reservas reservar(AgendaReservas agenda, String inicio, String fim) {
+        LocalTime horaInicio = LocalTime.parse(inicio);
+        LocalTime horaFim = LocalTime.parse(fim);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return agenda.reservar(area.getId(), DIA, horaInicio, horaFim, () -> transactionTemplate.execute(status -> {
+            gravacoes.incrementAndGet();
+            Reservas nova = new Reservas();
+            nova.setAreasComuns(area);
+            nova.setDataReserva(DIA);
+            nova.setHoraInicio(horaInicio);
+            nova.setHoraFim(horaFim);
+            reservasRepository.saveAndFlush(nova);
+            reservaSlotRepository.ocupar(area.getId(), DIA, AgendaReservas.slotInicial(horaInicio),
+                    AgendaReservas.slotFinal(horaFim), nova.getId());
+            return nova;
+        }));
+    }
+
+    private Integer slotsOcupados() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservas_slots WHERE areas_comuns_id = ?",
+                Integer.class, area.getId());
+    }
+}
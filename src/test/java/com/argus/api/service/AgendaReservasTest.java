@@ -0,0 +1,222 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.repository.ReservasRepository;
+import org.junit.jupiter.api.BeforeEach;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AgendaReservasTest {
+
+    private static final LocalDate DIA = LocalDate.of(2030, 1, 10);
+
+    private final AtomicLong ids = new AtomicLong();
+    // Faz o papel do banco: a agenda recarrega o dia daqui quando encontra conflito
+    private final Map<Long, Reservas> gravadas = new ConcurrentHashMap<>();
+    private AgendaReservas agenda;
+
+    @BeforeEach
+    void setUp() {
+        ReservasRepository repository = mock(ReservasRepository.class);
+        when(repository.findByAreasComunsIdAndDataReserva(anyLong(), any())).thenAnswer(invocacao -> {
+            Long area = invocacao.getArgument(0);
+            return gravadas.values().stream().filter(r -> r.getAreasComuns().getId().equals(area)).toList();
+        });
+        agenda = new AgendaReservas(repository, Duration.ZERO, 0);
+    }
+
+    @Test
+    void rejeitaSobreposicaoEAceitaHorariosEncostados() {
+        reservar(1L, "09:00", "10:00");
+
+        assertThatThrownBy(() -> reservar(1L, "09:30", "10:30")).hasMessageContaining("já reservada");
+        assertThatThrownBy(() -> reservar(1L, "08:00", "09:01")).hasMessageContaining("já reservada");
+        assertThatThrownBy(() -> reservar(1L, "09:15", "09:45")).hasMessageContaining("já reservada");
+        assertThatThrownBy(() -> reservar(1L, "08:00", "11:00")).hasMessageContaining("já reservada");
+
+        reservar(1L, "10:00", "11:00");
+        reservar(1L, "08:00", "09:00");
+        reservar(2L, "09:00", "10:00");
+    }
+
+    @Test
+    void liberarPermiteReservarNovamente() {
+        Reservas reserva = reservar(1L, "14:00", "15:00");
+
+        agenda.liberar(1L, DIA, reserva.getId(), () -> gravadas.remove(reserva.getId()));
+
+        reservar(1L, "14:30", "15:30");
+    }
+
+    @Test
+    void slotsCobremTodoOIntervalo() {
+        assertThat(AgendaReservas.slotInicial(LocalTime.parse("09:10"))).isEqualTo(36);
+        assertThat(AgendaReservas.slotFinal(LocalTime.parse("10:00"))).isEqualTo(40);
+        assertThat(AgendaReservas.slotFinal(LocalTime.parse("10:01"))).isEqualTo(41);
+    }
+
+    @Test
+    void ocupacaoAcompanhaReservasEExclusoes() {
+        Reservas reserva = reservar(1L, "09:10", "10:00");
+
+        long[] ocupacao = agenda.ocupacao(1L, DIA, DIA).get(DIA);
+        assertThat(AgendaDia.ocupado(ocupacao, 35)).isFalse();
+        assertThat(AgendaDia.ocupado(ocupacao, 36)).isTrue();
+        assertThat(AgendaDia.ocupado(ocupacao, 39)).isTrue();
+        assertThat(AgendaDia.ocupado(ocupacao, 40)).isFalse();
+
+        agenda.liberar(1L, DIA, reserva.getId(), () -> gravadas.remove(reserva.getId()));
+
+        assertThat(AgendaDia.ocupado(agenda.ocupacao(1L, DIA, DIA).get(DIA), 36)).isFalse();
+    }
+
+    @Test
+    void reservasAntigasComOMesmoInicioContinuamNaOcupacaoDepoisDeUmaExclusao() {
+        // Anteriores a reservas_slots: duas reservas começando às 09:00
+        Reservas longa = novaReserva(1L, 9 * 60, 10 * 60);
+        Reservas curta = novaReserva(1L, 9 * 60, 9 * 60 + 30);
+        reservar(1L, "12:00", "13:00");
+
+        agenda.liberar(1L, DIA, curta.getId(), () -> gravadas.remove(curta.getId()));
+
+        long[] ocupacao = agenda.ocupacao(1L, DIA, DIA).get(DIA);
+        assertThat(AgendaDia.ocupado(ocupacao, AgendaReservas.slotInicial(longa.getHoraInicio()))).isTrue();
+        assertThat(AgendaDia.ocupado(ocupacao, AgendaReservas.slotInicial(LocalTime.parse("09:45")))).isTrue();
+    }
+
+    @Test
+    void exclusaoDuranteACargaDaOcupacaoNaoFicaComOResultadoAntigo() throws Exception {
+        Reservas reserva = novaReserva(1L, 9 * 60, 10 * 60);
+        CountDownLatch consultou = new CountDownLatch(1);
+        ReservasRepository repository = mock(ReservasRepository.class);
+        when(repository.findByAreasComunsIdAndDataReservaBetween(anyLong(), any(), any())).thenAnswer(invocacao -> {
+            List<Reservas> resultado = List.copyOf(gravadas.values());
+            consultou.countDown();
+            // Tempo para a exclusão concorrente chegar à trava do dia
+            Thread.sleep(200);
+            return resultado;
+        });
+        AgendaReservas comCarga = new AgendaReservas(repository, Duration.ZERO, 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<?> carga = executor.submit(() -> comCarga.ocupacao(1L, DIA, DIA));
+        assertThat(consultou.await(5, TimeUnit.SECONDS)).isTrue();
+        comCarga.liberar(1L, DIA, reserva.getId(), () -> gravadas.remove(reserva.getId()));
+        carga.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(AgendaDia.ocupado(comCarga.ocupacao(1L, DIA, DIA).get(DIA), 36)).isFalse();
+    }
+
+    @Test
+    void falhaDeIntegridadeForaDosSlotsNaoViraConflito() {
+        assertThatThrownBy(() -> agenda.reservar(1L, DIA, LocalTime.parse("08:00"), LocalTime.parse("09:00"), () -> {
+            throw new DataIntegrityViolationException("Coluna hora_fim não pode ser nula");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void reservasConcorrentesNuncaSeSobrepoem() throws Exception {
+        int threads = 16;
+        int tentativasPorThread = 2_000;
+        ConcurrentLinkedQueue<Reservas> aceitas = new ConcurrentLinkedQueue<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < tentativasPorThread; i++) {
+                    long area = random.nextLong(1, 4);
+                    int inicio = random.nextInt(0, 23 * 60);
+                    int duracao = random.nextInt(1, 120);
+                    int fim = Math.min(inicio + duracao, 24 * 60 - 1);
+                    try {
+                        aceitas.add(agenda.reservar(area, DIA, LocalTime.ofSecondOfDay(inicio * 60L),
+                                LocalTime.ofSecondOfDay(fim * 60L), () -> novaReserva(area, inicio, fim)));
+                    } catch (RuntimeException conflito) {
+                        // esperado quando o horário já está ocupado
+                    }
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(aceitas).isNotEmpty();
+        for (long area = 1; area < 4; area++) {
+            long areaId = area;
+            List<Reservas> daArea = new ArrayList<>(aceitas.stream()
+                    .filter(r -> r.getAreasComuns().getId() == areaId).toList());
+            daArea.sort(Comparator.comparing(Reservas::getHoraInicio));
+            for (int i = 1; i < daArea.size(); i++) {
+                assertThat(daArea.get(i).getHoraInicio()).isAfterOrEqualTo(daArea.get(i - 1).getHoraFim());
+            }
+        }
+    }
+
+    @Test
+    void consultasEmDatasDistantesNaoCrescemOIndiceAlemDoLimite() {
+        ReservasRepository repository = mock(ReservasRepository.class);
+        AgendaReservas limitada = new AgendaReservas(repository, Duration.ofMinutes(1), 100);
+
+        for (int ano = 0; ano < 10; ano++) {
+            LocalDate de = DIA.plusYears(ano);
+            assertThat(limitada.ocupacao(1L, de, de.plusDays(364))).hasSize(365);
+        }
+
+        Cache<?, ?> agendas = (Cache<?, ?>) ReflectionTestUtils.getField(limitada, "agendas");
+        agendas.cleanUp();
+        assertThat(agendas.estimatedSize()).isLessThanOrEqualTo(100);
+    }
+
+    private Reservas reservar(Long area, String inicio, String fim) {
+        LocalTime horaInicio = LocalTime.parse(inicio);
+        LocalTime horaFim = LocalTime.parse(fim);
+        return agenda.reservar(area, DIA, horaInicio, horaFim,
+                () -> novaReserva(area, horaInicio.toSecondOfDay() / 60, horaFim.toSecondOfDay() / 60));
+    }
+
+    private Reservas novaReserva(long area, int inicio, int fim) {
+        AreasComuns areasComuns = new AreasComuns();
+        areasComuns.setId(area);
+        Reservas reserva = new Reservas();
+        reserva.setId(ids.incrementAndGet());
+        reserva.setAreasComuns(areasComuns);
+        reserva.setDataReserva(DIA);
+        reserva.setHoraInicio(LocalTime.ofSecondOfDay(inicio * 60L));
+        reserva.setHoraFim(LocalTime.ofSecondOfDay(fim * 60L));
+        gravadas.put(reserva.getId(), reserva);
+        return reserva;
+    }
+}
@@ -0,0 +1,219 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.TipoNotificacao;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Notificacoes;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.repository.ComunicadoRepository;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.LeaseRepository;
+import com.argus.api.repository.NotificacaoRepository;
+import com.argus.api.repository.OutboxNotificacaoRepository;
+import com.argus.api.repository.ReservasRepository;
+import com.argus.api.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+// Ordem por condomínio, espera após falha e uma única instância despachando cada evento
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:despacho;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OutboxNotificacaoRepository.class, LeaseRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DespachoNotificacoesTest {
+
+    @Autowired
+    private OutboxNotificacaoRepository outboxRepository;
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private ComunicadoRepository comunicadoRepository;
+
+    @Autowired
+    private ReservasRepository reservasRepository;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // O banco é compartilhado entre os testes; cada um cria os próprios condomínios
+    private static int rodada;
+
+    // Títulos entregues pelo canal, na ordem
+    private final List<String> entregues = new ArrayList<>();
+    private final Set<String> falhando = new HashSet<>();
+    private Consumer<List<Notificacoes>> aoEntregar = lote -> { };
+
+    @BeforeEach
+    void limpar() {
+        rodada++;
+        jdbcTemplate.update("DELETE FROM outbox_notificacao");
+        jdbcTemplate.update("DELETE FROM lease_tarefa");
+    }
+
+    @Test
+    void falhaAdiaOEventoESeguraOsSeguintesDoMesmoCondominio() {
+        Condominio a = condominio("A");
+        Condominio b = condominio("B");
+        comunicado(a, "a1");
+        comunicado(a, "a2");
+        comunicado(b, "b1");
+        falhando.add("a1");
+        DespachoNotificacoes despacho = despacho(outboxRepository, 200);
+
+        despacho.despachar();
+
+        assertThat(entregues).containsExactly("b1");
+        assertThat(jdbcTemplate.queryForList("SELECT tentativas FROM outbox_notificacao ORDER BY id", Integer.class))
+                .containsExactly(1, 0);
+
+        // Espera vencida: o evento adiado sai primeiro e o seguinte vem depois dele
+        falhando.clear();
+        jdbcTemplate.update("UPDATE outbox_notificacao SET proxima_tentativa_em = CURRENT_TIMESTAMP WHERE tentativas > 0");
+        despacho.despachar();
+
+        assertThat(entregues).containsExactly("b1", "a1", "a2");
+        assertThat(pendentes()).isZero();
+    }
+
+    @Test
+    void naoDespachaEnquantoOutraInstanciaDetemAConcessao() {
+        comunicado(condominio("A"), "a1");
+        jdbcTemplate.update("INSERT INTO lease_tarefa (nome, dono, expira_em) VALUES (?, 'outra', TIMESTAMPADD(SECOND, 60, CURRENT_TIMESTAMP))",
+                DespachoNotificacoes.TAREFA);
+
+        despacho(outboxRepository, 200).despachar();
+
+        assertThat(entregues).isEmpty();
+        assertThat(pendentes()).isEqualTo(1);
+    }
+
+    @Test
+    void paraDeDrenarQuandoPerdeAConcessaoEntreLotes() {
+        Condominio a = condominio("A");
+        comunicado(a, "a1");
+        comunicado(a, "a2");
+        comunicado(a, "a3");
+        // Outra instância assume a concessão vencida enquanto o primeiro lote é entregue
+        aoEntregar = lote -> jdbcTemplate.update("UPDATE lease_tarefa SET dono = 'outra', " +
+                "expira_em = TIMESTAMPADD(SECOND, 60, CURRENT_TIMESTAMP) WHERE nome = ?", DespachoNotificacoes.TAREFA);
+
+        despacho(outboxRepository, 1).despachar();
+
+        assertThat(entregues).containsExactly("a1");
+        assertThat(pendentes()).isEqualTo(2);
+    }
+
+    @Test
+    void eventoJaDespachadoPorOutraInstanciaNaoGeraNotificacaoRepetida() {
+        Condominio a = condominio("A");
+        comunicado(a, "a1");
+        long notificacoesAntes = notificacaoRepository.count();
+        // Entre a listagem e o processamento, outra instância despacha e remove o evento
+        OutboxNotificacaoRepository concorrente = spy(outboxRepository);
+        doAnswer(invocacao -> {
+            Object lote = invocacao.callRealMethod();
+            jdbcTemplate.update("DELETE FROM outbox_notificacao");
+            return lote;
+        }).when(concorrente).listarPendentes(anyInt(), anyInt());
+
+        despacho(concorrente, 200).despachar();
+
+        assertThat(entregues).isEmpty();
+        assertThat(notificacaoRepository.count()).isEqualTo(notificacoesAntes);
+    }
+
+    private DespachoNotificacoes despacho(OutboxNotificacaoRepository outbox, int tamanhoLote) {
+        CanalEntregaNotificacoes canal = (condominioId, notificacoes) -> {
+            for (Notificacoes notificacao : notificacoes) {
+                String titulo = notificacao.getComunicado().getTitulo();
+                if (falhando.contains(titulo)) {
+                    throw new IllegalStateException("Falha simulada em " + titulo);
+                }
+            }
+            aoEntregar.accept(notificacoes);
+            notificacoes.forEach(n -> entregues.add(n.getComunicado().getTitulo()));
+        };
+        DespachoNotificacoes despacho = new DespachoNotificacoes(outbox, notificacaoRepository, comunicadoRepository,
+                reservasRepository, new NotificacoesService(), leaseRepository, new TransactionTemplate(transactionManager),
+                new StaticListableBeanFactory(Map.of("canal", canal)).getBeanProvider(CanalEntregaNotificacoes.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(despacho, "tamanhoLote", tamanhoLote);
+        ReflectionTestUtils.setField(despacho, "tentativasMaximas", 10);
+        ReflectionTestUtils.setField(despacho, "duracaoLease", Duration.ofMinutes(1));
+        return despacho;
+    }
+
+    private Condominio condominio(String nome) {
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio " + nome + " " + rodada);
+        condominio.setEndereco("Rua A");
+        return condominioRepository.save(condominio);
+    }
+
+    private void comunicado(Condominio condominio, String titulo) {
+        Usuarios autor = new Usuarios();
+        autor.setNome("Síndico");
+        autor.setCpf(rodada + "-" + titulo);
+        autor.setSenha("senha");
+        autor.setTelefone("11");
+        autor.setTipoDoUsuario(TipoDoUsuario.SINDICO);
+        autor.setCondominio(condominio);
+        usuarioRepository.save(autor);
+
+        Comunicados comunicado = new Comunicados();
+        comunicado.setTitulo(titulo);
+        comunicado.setMensagem("Mensagem " + titulo);
+        comunicado.setUsuarios(autor);
+        comunicado.setCondominio(condominio);
+        comunicadoRepository.save(comunicado);
+        outboxRepository.registrar(TipoNotificacao.COMUNICADO, comunicado.getId(), condominio.getId());
+    }
+
+    private Integer pendentes() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_notificacao", Integer.class);
+    }
+}
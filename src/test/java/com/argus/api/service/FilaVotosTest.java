@@ -0,0 +1,179 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.repository.SessaoVotacaoRepository;
+import com.argus.api.repository.VotoLoteRepository;
+import com.argus.api.repository.VotoLoteRepository.VotoPendente;
+import com.argus.api.repository.VotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FilaVotosTest {
+
+    @TempDir
+    Path pasta;
+
+    private final List<VotoPendente> gravados = new ArrayList<>();
+    // Usuários cujo voto o banco recusa com erro, como numa falha de conexão
+    private final Set<Long> falhando = new HashSet<>();
+    // Usuários que já têm voto no banco: a gravação devolve 0 para eles
+    private final Set<Long> repetidos = new HashSet<>();
+    private final SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+    private VotoLoteRepository votoLoteRepository;
+    private VotoRepository votoRepository;
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+    private SessaoVotacao sessao;
+
+    @BeforeEach
+    void setUp() {
+        votoLoteRepository = mock(VotoLoteRepository.class);
+        when(votoLoteRepository.inserir(anyList())).thenAnswer(invocacao -> {
+            List<VotoPendente> lote = invocacao.getArgument(0);
+            if (lote.stream().anyMatch(voto -> falhando.contains(voto.usuarioId()))) {
+                throw new IllegalStateException("Falha simulada na gravação");
+            }
+            int[] linhas = new int[lote.size()];
+            for (int i = 0; i < lote.size(); i++) {
+                if (!repetidos.contains(lote.get(i).usuarioId())) {
+                    gravados.add(lote.get(i));
+                    linhas[i] = 1;
+                }
+            }
+            return linhas;
+        });
+        votoRepository = mock(VotoRepository.class);
+        when(votoRepository.listarVotantes(anyLong())).thenReturn(List.of(99L));
+        sessaoVotacaoRepository = mock(SessaoVotacaoRepository.class);
+        Condominio condominio = new Condominio();
+        condominio.setId(7L);
+        sessao = new SessaoVotacao();
+        sessao.setDataFim(LocalDate.now().plusDays(1));
+        sessao.setCondominio(condominio);
+        when(sessaoVotacaoRepository.findById(anyLong())).thenReturn(Optional.of(sessao));
+    }
+
+    @Test
+    void rejeitaVotoRepetidoEGravaEmLotes() throws Exception {
+        FilaVotos fila = abrir(2);
+
+        fila.enfileirar(1L, 10L, null, true);
+        fila.enfileirar(1L, 11L, null, false);
+        fila.enfileirar(1L, 12L, null, true);
+        assertThatThrownBy(() -> fila.enfileirar(1L, 10L, null, false)).hasMessageContaining("já votou");
+        assertThatThrownBy(() -> fila.enfileirar(1L, 99L, null, false)).hasMessageContaining("já votou");
+
+        fila.descarregar();
+
+        assertThat(gravados).extracting(VotoPendente::usuarioId).containsExactly(10L, 11L, 12L);
+        assertThat(Files.size(pasta.resolve("votos.diario"))).isZero();
+    }
+
+    @Test
+    void reaplicaDiarioDescartandoLinhaIncompleta() throws Exception {
+        FilaVotos primeira = abrir(500);
+        primeira.enfileirar(1L, 10L, null, true);
+        primeira.enfileirar(2L, 20L, null, false);
+        // Simula uma queda no meio da escrita seguinte
+        Files.writeString(pasta.resolve("votos.diario"), "3,3", StandardOpenOption.APPEND);
+
+        FilaVotos segunda = abrir(500);
+        assertThatThrownBy(() -> segunda.enfileirar(1L, 10L, null, true)).hasMessageContaining("já votou");
+        segunda.enfileirar(3L, 30L, null, true);
+        segunda.descarregar();
+
+        assertThat(gravados).containsExactly(
+                new VotoPendente(1L, 10L, true),
+                new VotoPendente(2L, 20L, false),
+                new VotoPendente(3L, 30L, true));
+    }
+
+    @Test
+    void votoExcluidoDepoisDeGravadoNaoVoltaNaReaplicacao() throws Exception {
+        FilaVotos primeira = abrir(1);
+        primeira.enfileirar(1L, 10L, null, true);
+        primeira.enfileirar(1L, 11L, null, false);
+        falhando.add(11L);
+        // O voto de 10 vai ao banco; o de 11 falha e segura o diário, que não é truncado
+        primeira.descarregar();
+        assertThat(gravados).extracting(VotoPendente::usuarioId).containsExactly(10L);
+
+        // DELETE /votos/{id} do voto de 10 e queda antes de o diário esvaziar
+        gravados.clear();
+        falhando.clear();
+        FilaVotos segunda = abrir(500);
+        segunda.descarregar();
+
+        assertThat(gravados).extracting(VotoPendente::usuarioId).containsExactly(11L);
+        assertThat(Files.size(pasta.resolve("votos.diario"))).isZero();
+    }
+
+    @Test
+    void sessaoEmMemoriaRecusaVotoDeOutroCondominio() throws Exception {
+        FilaVotos fila = abrir(500);
+        // A primeira carga, feita por um morador do condomínio 7, deixa a sessão em memória
+        fila.enfileirar(1L, 10L, 7L, true);
+
+        assertThatThrownBy(() -> fila.enfileirar(1L, 20L, 8L, true)).hasMessageContaining("não encontrada");
+        fila.enfileirar(1L, 30L, null, true);
+        fila.descarregar();
+
+        assertThat(gravados).extracting(VotoPendente::usuarioId).containsExactly(10L, 30L);
+    }
+
+    @Test
+    void sessaoEncerradaPorOutraInstanciaRecusaVotosDepoisDeDescartada() throws Exception {
+        FilaVotos fila = abrir(500);
+        fila.enfileirar(1L, 10L, 7L, true);
+        sessao.setEncerrada(true);
+
+        fila.descartar(1L);
+
+        assertThat(fila.sessoesEmMemoria()).isEmpty();
+        assertThatThrownBy(() -> fila.enfileirar(1L, 20L, 7L, true)).hasMessageContaining("encerrada");
+    }
+
+    @Test
+    void votoRepetidoDescartadoNaGravacaoEhContado() throws Exception {
+        FilaVotos fila = abrir(500);
+        fila.enfileirar(1L, 10L, null, true);
+        fila.enfileirar(1L, 20L, null, true);
+        // Outra instância gravou o voto de 20 depois da conferência
+        repetidos.add(20L);
+
+        fila.descarregar();
+
+        assertThat(gravados).extracting(VotoPendente::usuarioId).containsExactly(10L);
+        assertThat(metricas.get("argus.votos.descartados").counter().count()).isEqualTo(1);
+    }
+
+    private FilaVotos abrir(int lote) throws Exception {
+        FilaVotos fila = new FilaVotos(votoLoteRepository, votoRepository, sessaoVotacaoRepository,
+                new ApuracaoVotos(votoRepository), metricas);
+        ReflectionTestUtils.setField(fila, "ativa", true);
+        ReflectionTestUtils.setField(fila, "arquivoDiario", pasta.resolve("votos.diario").toString());
+        ReflectionTestUtils.setField(fila, "tamanhoLote", lote);
+        fila.abrirDiario();
+        return fila;
+    }
+}
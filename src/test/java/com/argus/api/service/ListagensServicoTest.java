@@ -0,0 +1,231 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Ocorrencias;
+import com.argus.api.domain.model.SessaoVotacao;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.domain.model.Voto;
+import com.argus.api.infra.exportacao.EscritorExportacao;
+import com.argus.api.repository.AreasComunsRepository;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.OcorrenciasRepository;
+import com.argus.api.repository.SessaoVotacaoRepository;
+import com.argus.api.repository.UsuarioRepository;
+import com.argus.api.repository.VotoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Statements por listagem contados de ponta a ponta: o método do serviço, a conversão para DTO e a serialização
+// da resposta, que com o open-in-view acontece com a sessão ainda aberta e dispararia as cargas lazy
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listagens;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VotoService.class, OcorrenciasService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListagensServicoTest {
+
+    private static final int REGISTROS = 5;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private AreasComunsRepository areasComunsRepository;
+
+    @Autowired
+    private SessaoVotacaoRepository sessaoVotacaoRepository;
+
+    @Autowired
+    private VotoRepository votoRepository;
+
+    @Autowired
+    private OcorrenciasRepository ocorrenciasRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VotoService votoService;
+
+    @Autowired
+    private OcorrenciasService ocorrenciasService;
+
+    // Colaboradores do registro e da exportação, que as listagens não usam
+    @MockBean
+    private ApuracaoVotos apuracaoVotos;
+
+    @MockBean
+    private FilaVotos filaVotos;
+
+    @MockBean
+    private EscritorExportacao escritorExportacao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // O banco é compartilhado entre os testes; cada um lista a partir do último id que já existia
+    private static int rodada;
+
+    private Statistics statistics;
+    private long ultimoVoto;
+    private long ultimaOcorrencia;
+    private SessaoVotacao sessaoComVariosVotos;
+
+    @BeforeEach
+    void popularBanco() {
+        rodada++;
+        ultimoVoto = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM voto", Long.class);
+        ultimaOcorrencia = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM ocorrencias", Long.class);
+
+        // Cada voto e cada ocorrência num condomínio diferente, para que uma carga por linha apareça na contagem
+        List<Usuarios> moradores = new ArrayList<>();
+        for (int i = 0; i < REGISTROS; i++) {
+            Condominio condominio = new Condominio();
+            condominio.setNome("Condomínio listagem " + rodada + "-" + i);
+            condominio.setEndereco("Rua " + i);
+            condominioRepository.save(condominio);
+
+            Usuarios morador = new Usuarios();
+            morador.setNome("Morador " + i);
+            morador.setCpf("listagem-" + rodada + "-" + i);
+            morador.setSenha("senha");
+            morador.setTelefone("11");
+            morador.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            morador.setCondominio(condominio);
+            moradores.add(usuarioRepository.save(morador));
+
+            AreasComuns area = new AreasComuns();
+            area.setNome("Área " + i);
+            area.setDisponivel(true);
+            area.setCondominio(condominio);
+            areasComunsRepository.save(area);
+
+            Ocorrencias ocorrencia = new Ocorrencias();
+            ocorrencia.setTitulo("Ocorrência " + i);
+            ocorrencia.setDescricao("Descrição " + i);
+            ocorrencia.setTipo(Ocorrencias.TipoOcorrencia.SOLICITACAO_DE_MANUTENCAO);
+            ocorrencia.setDataCriacao(LocalDateTime.now());
+            ocorrencia.setUsuario(morador);
+            ocorrencia.setArea(area);
+            ocorrenciasRepository.save(ocorrencia);
+
+            votoRepository.save(voto(sessao(condominio), morador));
+        }
+
+        sessaoComVariosVotos = sessao(moradores.get(0).getCondominio());
+        for (Usuarios morador : moradores) {
+            votoRepository.save(voto(sessaoComVariosVotos, morador));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listarTodosVotosESerializarExecutaUmSelect() {
+        JsonNode pagina = serializar(() -> votoService.listarTodosVotos(ultimoVoto, REGISTROS));
+
+        assertThat(pagina.get("itens")).hasSize(REGISTROS)
+                .allSatisfy(v -> assertThat(v.at("/sessaoVotacao/condominio/nome").asText()).startsWith("Condomínio"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarVotosDaSessaoESerializarExecutaDoisSelects() {
+        JsonNode pagina = serializar(() -> votoService.listarVotos(sessaoComVariosVotos.getId(), ultimoVoto, REGISTROS));
+
+        assertThat(pagina.get("itens")).hasSize(REGISTROS)
+                .allSatisfy(v -> assertThat(v.at("/sessaoVotacao/condominio/nome").asText()).startsWith("Condomínio"));
+        // Um para conferir a sessão e outro para a página
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listarOcorrenciasESerializarExecutaUmSelect() {
+        JsonNode pagina = serializar(() -> ocorrenciasService.listarTodasOcorrencias(ultimaOcorrencia, REGISTROS));
+
+        // converterParaDTO só lê os ids das relações, que o proxy lazy já conhece
+        assertThat(pagina.get("itens")).hasSize(REGISTROS).allSatisfy(o -> {
+            assertThat(o.get("idUsuario").isNull()).isFalse();
+            assertThat(o.get("idArea").isNull()).isFalse();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // O serviço e a serialização na mesma transação, como numa requisição com o open-in-view ligado
+    private JsonNode serializar(Supplier<Object> listagem) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        String json = transacao.execute(status -> {
+            try {
+                return objectMapper.writeValueAsString(listagem.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SessaoVotacao sessao(Condominio condominio) {
+        SessaoVotacao sessao = new SessaoVotacao();
+        sessao.setProposta("Proposta");
+        sessao.setDescricao("Descrição");
+        sessao.setDataInicio(LocalDate.now());
+        sessao.setDataFim(LocalDate.now().plusDays(1));
+        sessao.setCondominio(condominio);
+        return sessaoVotacaoRepository.save(sessao);
+    }
+
+    private static Voto voto(SessaoVotacao sessao, Usuarios morador) {
+        Voto voto = new Voto();
+        voto.setVoto(true);
+        voto.setSessaoVotacao(sessao);
+        voto.setUsuarios(morador);
+        return voto;
+    }
+}
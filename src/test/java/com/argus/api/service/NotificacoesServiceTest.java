@@ -0,0 +1,112 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.infra.cache.CacheConfigurations;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Excluir uma notificação tira só a linha da caixa de entrada de quem pediu
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notificacoes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CaixaNotificacaoRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificacoesServiceTest {
+
+    @Autowired
+    private CaixaNotificacaoRepository caixaNotificacaoRepository;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static int rodada;
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfigurations.NOTIFICACOES_NAO_LIDAS);
+    private final NotificacoesService notificacoesService = new NotificacoesService();
+    private Long moradorA;
+    private Long moradorB;
+    private long notificacao;
+
+    @BeforeEach
+    void popular() {
+        rodada++;
+        ReflectionTestUtils.setField(notificacoesService, "caixaNotificacaoRepository", caixaNotificacaoRepository);
+        ReflectionTestUtils.setField(notificacoesService, "cacheManager", cacheManager);
+
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio caixa " + rodada);
+        condominio.setEndereco("Rua A");
+        condominioRepository.save(condominio);
+        moradorA = morador(condominio, "a");
+        moradorB = morador(condominio, "b");
+
+        notificacao = rodada * 1_000L;
+        jdbcTemplate.update("INSERT INTO notificacoes (id, titulo, corpo_de_texto, data) VALUES (?, ?, ?, ?)",
+                notificacao, "Aviso", "Texto", LocalDate.now());
+        caixaNotificacaoRepository.inserir(List.of(moradorA, moradorB), List.of(notificacao));
+    }
+
+    @Test
+    void excluirTiraSoACaixaDeQuemPediuEInvalidaOContadorDele() {
+        Cache naoLidas = cacheManager.getCache(CacheConfigurations.NOTIFICACOES_NAO_LIDAS);
+        naoLidas.put(moradorA, 1L);
+        naoLidas.put(moradorB, 1L);
+
+        assertThat(notificacoesService.deletarNotificacao(moradorA, notificacao)).isTrue();
+
+        assertThat(jdbcTemplate.queryForList("SELECT usuario_id FROM caixa_notificacao WHERE notificacao_id = ?",
+                Long.class, notificacao)).containsExactly(moradorB);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notificacoes WHERE id = ?", Integer.class,
+                notificacao)).isEqualTo(1);
+        assertThat(naoLidas.get(moradorA)).isNull();
+        assertThat(naoLidas.get(moradorB, Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void excluirNotificacaoForaDaCaixaNaoEncontraNada() {
+        notificacoesService.deletarNotificacao(moradorA, notificacao);
+
+        assertThat(notificacoesService.deletarNotificacao(moradorA, notificacao)).isFalse();
+        assertThat(caixaNotificacaoRepository.contarNaoLidas(moradorB)).isEqualTo(1);
+    }
+
+    private Long morador(Condominio condominio, String sufixo) {
+        Usuarios morador = new Usuarios();
+        morador.setNome("Morador " + sufixo);
+        morador.setCpf("caixa-" + rodada + "-" + sufixo);
+        morador.setSenha("senha");
+        morador.setTelefone("11");
+        morador.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+        morador.setCondominio(condominio);
+        return usuarioRepository.save(morador).getId();
+    }
+}
@@ -0,0 +1,240 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.model.AreasComuns;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Reservas;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.infra.cache.CacheConfigurations;
+import com.argus.api.repository.AreasComunsRepository;
+import com.argus.api.repository.ComunicadoRepository;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.LeaseRepository;
+import com.argus.api.repository.ReservasRepository;
+import com.argus.api.repository.RetencaoNotificacaoRepository;
+import com.argus.api.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Remoção em lotes das notificações expiradas, das caixas de entrada e o arquivo gravado antes da remoção
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:retencao;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RetencaoNotificacaoRepository.class, LeaseRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RetencaoNotificacoesTest {
+
+    private static final int MORADORES = 3;
+
+    @TempDir
+    Path pasta;
+
+    @Autowired
+    private RetencaoNotificacaoRepository retencaoRepository;
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ComunicadoRepository comunicadoRepository;
+
+    @Autowired
+    private AreasComunsRepository areasComunsRepository;
+
+    @Autowired
+    private ReservasRepository reservasRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // O banco é compartilhado entre os testes; cada um cria os próprios moradores
+    private static int rodada;
+
+    private final List<Long> moradores = new ArrayList<>();
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfigurations.NOTIFICACOES_NAO_LIDAS);
+    private final NotificacoesService notificacoesService = new NotificacoesService();
+    private Comunicados comunicado;
+    private Reservas reserva;
+    private long proximoId;
+
+    @BeforeEach
+    void popular() {
+        rodada++;
+        proximoId = rodada * 1_000L;
+        ReflectionTestUtils.setField(notificacoesService, "cacheManager", cacheManager);
+        jdbcTemplate.update("DELETE FROM caixa_notificacao");
+        jdbcTemplate.update("DELETE FROM notificacoes");
+        jdbcTemplate.update("DELETE FROM lease_tarefa");
+
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio retenção " + rodada);
+        condominio.setEndereco("Rua A");
+        condominioRepository.save(condominio);
+        for (int i = 0; i < MORADORES; i++) {
+            Usuarios morador = new Usuarios();
+            morador.setNome("Morador " + i);
+            morador.setCpf("retencao-" + rodada + "-" + i);
+            morador.setSenha("senha");
+            morador.setTelefone("11");
+            morador.setTipoDoUsuario(TipoDoUsuario.MORADOR);
+            morador.setCondominio(condominio);
+            moradores.add(usuarioRepository.save(morador).getId());
+        }
+
+        comunicado = new Comunicados();
+        comunicado.setTitulo("Assembleia");
+        comunicado.setMensagem("Pauta");
+        comunicado.setUsuarios(usuarioRepository.getReferenceById(moradores.get(0)));
+        comunicado.setCondominio(condominio);
+        comunicadoRepository.save(comunicado);
+
+        AreasComuns area = new AreasComuns();
+        area.setNome("Salão retenção " + rodada);
+        area.setDisponivel(true);
+        area.setCondominio(condominio);
+        areasComunsRepository.save(area);
+        reserva = new Reservas();
+        reserva.setAreasComuns(area);
+        reserva.setDataReserva(LocalDate.now());
+        reserva.setHoraInicio(LocalTime.of(10, 0));
+        reserva.setHoraFim(LocalTime.of(11, 0));
+        reservasRepository.save(reserva);
+    }
+
+    @Test
+    void arquivaERemoveEmLotesSoOsComunicadosExpirados() throws IOException {
+        LocalDate expirada = LocalDate.now().minusDays(400);
+        List<Long> expiradas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expiradas.add(notificacao(expirada, comunicado.getId(), null));
+        }
+        long recente = notificacao(LocalDate.now().minusDays(10), comunicado.getId(), null);
+        // A política de reservas está desligada: a notificação fica mesmo sendo antiga
+        long deReserva = notificacao(expirada, null, reserva.getId());
+
+        // Contadores em cache de antes da remoção, que contam as notificações expiradas
+        Cache naoLidas = cacheManager.getCache(CacheConfigurations.NOTIFICACOES_NAO_LIDAS);
+        moradores.forEach(morador -> naoLidas.put(morador, 7L));
+
+        retencao(Duration.ofDays(365), pasta).executar();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM notificacoes ORDER BY id", Long.class))
+                .containsExactly(recente, deReserva);
+        assertThat(moradores).allSatisfy(morador -> assertThat(naoLidas.get(morador)).isNull());
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT notificacao_id FROM caixa_notificacao ORDER BY notificacao_id",
+                Long.class)).containsExactly(recente, deReserva);
+        assertThat(idsArquivados()).containsExactlyElementsOf(expiradas);
+    }
+
+    @Test
+    void falhaAoArquivarNaoRemoveNada() throws IOException {
+        long expirada = notificacao(LocalDate.now().minusDays(400), comunicado.getId(), null);
+        // O diretório do arquivo não pode ser criado porque o caminho é um arquivo comum
+        Path bloqueado = Files.createFile(pasta.resolve("bloqueado"));
+
+        assertThatThrownBy(() -> retencao(Duration.ofDays(365), bloqueado).executar())
+                .hasMessageContaining("arquivar");
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM notificacoes", Long.class)).containsExactly(expirada);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM caixa_notificacao", Integer.class))
+                .isEqualTo(MORADORES);
+        // A concessão é liberada mesmo com a falha, para a próxima execução não esperar o prazo
+        assertThat(leaseRepository.adquirir(RetencaoNotificacoes.TAREFA, Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    void naoRemoveEnquantoOutraInstanciaDetemAConcessao() {
+        notificacao(LocalDate.now().minusDays(400), comunicado.getId(), null);
+        jdbcTemplate.update("INSERT INTO lease_tarefa (nome, dono, expira_em) VALUES (?, 'outra', TIMESTAMPADD(SECOND, 60, CURRENT_TIMESTAMP))",
+                RetencaoNotificacoes.TAREFA);
+
+        retencao(Duration.ofDays(365), pasta).executar();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notificacoes", Integer.class)).isEqualTo(1);
+    }
+
+    // Lotes de 2 notificações e de 2 linhas de caixa, para que as duas remoções precisem de várias voltas
+    private RetencaoNotificacoes retencao(Duration prazoComunicado, Path diretorio) {
+        RetencaoNotificacoes retencao = new RetencaoNotificacoes(retencaoRepository, leaseRepository,
+                notificacoesService, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(retencao, "prazoComunicado", prazoComunicado);
+        ReflectionTestUtils.setField(retencao, "arquivarComunicado", true);
+        ReflectionTestUtils.setField(retencao, "prazoReserva", Duration.ZERO);
+        ReflectionTestUtils.setField(retencao, "tamanhoLote", 2);
+        ReflectionTestUtils.setField(retencao, "tamanhoLoteCaixa", 2);
+        ReflectionTestUtils.setField(retencao, "pausa", Duration.ZERO);
+        ReflectionTestUtils.setField(retencao, "duracaoLease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(retencao, "diretorio", diretorio);
+        return retencao;
+    }
+
+    // Uma notificação com a data informada, na caixa de entrada de cada morador
+    private long notificacao(LocalDate data, Long comunicadoId, Long reservaId) {
+        long id = ++proximoId;
+        jdbcTemplate.update("INSERT INTO notificacoes (id, titulo, corpo_de_texto, data, id_comunicados, id_reserva) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", id, "Notificação " + id, "Texto", data, comunicadoId, reservaId);
+        for (Long morador : moradores) {
+            jdbcTemplate.update("INSERT INTO caixa_notificacao (usuario_id, notificacao_id) VALUES (?, ?)", morador, id);
+        }
+        return id;
+    }
+
+    private List<Long> idsArquivados() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (var arquivos = Files.list(pasta)) {
+            for (Path arquivo : arquivos.toList()) {
+                assertThat(arquivo.getFileName().toString()).startsWith("notificacoes-comunicado-").endsWith(".ndjson.gz");
+                try (InputStream entrada = new GZIPInputStream(Files.newInputStream(arquivo))) {
+                    for (String linha : new String(entrada.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                        ids.add(objectMapper.readTree(linha).get("id").asLong());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,204 @@
+package com.argus.api.service;
+
+import com.argus.api.domain.TipoDoUsuario;
+import com.argus.api.domain.TipoNotificacao;
+import com.argus.api.domain.model.Comunicados;
+import com.argus.api.domain.model.Condominio;
+import com.argus.api.domain.model.Usuarios;
+import com.argus.api.infra.security.UsuarioAutenticado;
+import com.argus.api.repository.CaixaNotificacaoRepository;
+import com.argus.api.repository.ComunicadoRepository;
+import com.argus.api.repository.CondominioRepository;
+import com.argus.api.repository.LeaseRepository;
+import com.argus.api.repository.NotificacaoRepository;
+import com.argus.api.repository.OutboxNotificacaoRepository;
+import com.argus.api.repository.ReservasRepository;
+import com.argus.api.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Moradores conectados numa instância recebem as notificações despachadas por outra
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transmissao;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OutboxNotificacaoRepository.class, LeaseRepository.class, CaixaNotificacaoRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransmissaoNotificacoesTest {
+
+    @Autowired
+    private OutboxNotificacaoRepository outboxRepository;
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    @Autowired
+    private CaixaNotificacaoRepository caixaNotificacaoRepository;
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private ComunicadoRepository comunicadoRepository;
+
+    @Autowired
+    private ReservasRepository reservasRepository;
+
+    @Autowired
+    private CondominioRepository condominioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static int rodada;
+
+    @BeforeEach
+    void limpar() {
+        rodada++;
+        jdbcTemplate.update("DELETE FROM outbox_notificacao");
+        jdbcTemplate.update("DELETE FROM lease_tarefa");
+    }
+
+    @Test
+    void instanciaSemODespachoPublicaAsNotificacoesDosSeusCondominios() {
+        Condominio a = condominio("A");
+        Condominio b = condominio("B");
+        SimpleMeterRegistry metricasDespacho = new SimpleMeterRegistry();
+        SimpleMeterRegistry metricasConectada = new SimpleMeterRegistry();
+        TransmissaoNotificacoes instanciaDespacho = transmissao(metricasDespacho);
+        TransmissaoNotificacoes instanciaConectada = transmissao(metricasConectada);
+        instanciaConectada.assinar(morador(a), null);
+
+        comunicado(a, "a1");
+        comunicado(b, "b1");
+        comunicado(a, "a2");
+        despacho(instanciaDespacho).despachar();
+        instanciaConectada.sincronizar();
+
+        // Só as duas de A; a instância que despachou não tem conexões e não publica nada
+        await().atMost(Duration.ofSeconds(5)).until(() -> enviadas(metricasConectada) == 2);
+        assertThat(enviadas(metricasDespacho)).isZero();
+
+        // Nada novo: o cursor já passou das notificações publicadas
+        instanciaConectada.sincronizar();
+        assertThat(enviadas(metricasConectada)).isEqualTo(2);
+    }
+
+    @Test
+    void conexaoNovaNaoRecebeNotificacoesAnterioresPeloCursor() {
+        Condominio a = condominio("A");
+        comunicado(a, "a1");
+        SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+        TransmissaoNotificacoes instancia = transmissao(metricas);
+        despacho(transmissao(new SimpleMeterRegistry())).despachar();
+
+        instancia.assinar(morador(a), null);
+        instancia.sincronizar();
+
+        assertThat(enviadas(metricas)).isZero();
+    }
+
+    private TransmissaoNotificacoes transmissao(SimpleMeterRegistry metricas) {
+        TransmissaoNotificacoes transmissao = new TransmissaoNotificacoes(caixaNotificacaoRepository, objectMapper,
+                metricas, new MockEnvironment(), 1);
+        ReflectionTestUtils.setField(transmissao, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(transmissao, "capacidadeFila", 64);
+        ReflectionTestUtils.setField(transmissao, "maximoConexoes", 10);
+        ReflectionTestUtils.setField(transmissao, "loteSincronizacao", 1);
+        return transmissao;
+    }
+
+    private DespachoNotificacoes despacho(CanalEntregaNotificacoes canal) {
+        DespachoNotificacoes despacho = new DespachoNotificacoes(outboxRepository, notificacaoRepository, comunicadoRepository,
+                reservasRepository, new NotificacoesService(), leaseRepository, new TransactionTemplate(transactionManager),
+                new StaticListableBeanFactory(Map.of("canal", canal)).getBeanProvider(CanalEntregaNotificacoes.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(despacho, "tamanhoLote", 200);
+        ReflectionTestUtils.setField(despacho, "tentativasMaximas", 10);
+        ReflectionTestUtils.setField(despacho, "duracaoLease", Duration.ofMinutes(1));
+        return despacho;
+    }
+
+    private static double enviadas(SimpleMeterRegistry metricas) {
+        return metricas.get("argus.notificacoes.push.enviadas").counter().count();
+    }
+
+    private static UsuarioAutenticado morador(Condominio condominio) {
+        return new UsuarioAutenticado() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public TipoDoUsuario getTipoDoUsuario() {
+                return TipoDoUsuario.MORADOR;
+            }
+
+            @Override
+            public Long getCondominioId() {
+                return condominio.getId();
+            }
+        };
+    }
+
+    private Condominio condominio(String nome) {
+        Condominio condominio = new Condominio();
+        condominio.setNome("Condomínio push " + nome + " " + rodada);
+        condominio.setEndereco("Rua A");
+        return condominioRepository.save(condominio);
+    }
+
+    private void comunicado(Condominio condominio, String titulo) {
+        Usuarios autor = new Usuarios();
+        autor.setNome("Síndico");
+        autor.setCpf("push-" + rodada + "-" + titulo);
+        autor.setSenha("senha");
+        autor.setTelefone("11");
+        autor.setTipoDoUsuario(TipoDoUsuario.SINDICO);
+        autor.setCondominio(condominio);
+        usuarioRepository.save(autor);
+
+        Comunicados comunicado = new Comunicados();
+        comunicado.setTitulo(titulo);
+        comunicado.setMensagem("Mensagem " + titulo);
+        comunicado.setUsuarios(autor);
+        comunicado.setCondominio(condominio);
+        comunicadoRepository.save(comunicado);
+        outboxRepository.registrar(TipoNotificacao.COMUNICADO, comunicado.getId(), condominio.getId());
+    }
+}